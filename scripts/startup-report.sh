@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+# Compares startup time and resident memory of the boot jar, the AOT + CDS layout and the native image.
+# Build the variants first: ./gradlew bootJar cdsArchive [nativeCompile], or run ./gradlew startupReport.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${RUNS:-5}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+BOOT_JAR=$(ls build/libs/tutorial-*.jar | grep -v -e '-plain.jar$' -e '-aot.jar$' | head -n 1)
+CDS_JAR=$PWD/build/cds/tutorial.jar
+CDS_ARCHIVE=$PWD/build/cds/application.jsa
+NATIVE=build/native/nativeCompile/tutorial
+REPORT=build/reports/startup/startup.md
+LOG=$(mktemp)
+trap 'rm -f "$LOG"' EXIT
+
+# Starts the command, waits for the startup log line and prints "<seconds> <rss kB>" before stopping it
+measure_once() {
+    "$@" --server.port=0 > "$LOG" 2>&1 &
+    local pid=$!
+    local started=""
+    for _ in $(seq 1 600); do
+        started=$(grep -o 'process running for [0-9.]*' "$LOG" | awk '{print $4}' || true)
+        if [ -n "$started" ] || ! kill -0 "$pid" 2> /dev/null; then
+            break
+        fi
+        sleep 0.1
+    done
+    local rss
+    rss=$(ps -o rss= -p "$pid" | tr -d ' ' || true)
+    kill "$pid" 2> /dev/null || true
+    wait "$pid" 2> /dev/null || true
+    if [ -z "$started" ]; then
+        echo "Startup failed: $*" >&2
+        cat "$LOG" >&2
+        return 1
+    fi
+    echo "$started $rss"
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print (NR % 2) ? values[(NR + 1) / 2] : (values[NR / 2] + values[NR / 2 + 1]) / 2 }'
+}
+
+measure() {
+    local name=$1
+    shift
+    local samples=()
+    for _ in $(seq 1 "$RUNS"); do
+        samples+=("$(measure_once "$@")")
+    done
+    local seconds rss
+    seconds=$(printf '%s\n' "${samples[@]}" | awk '{print $1}' | median)
+    rss=$(printf '%s\n' "${samples[@]}" | awk '{print $2}' | median)
+    printf '| %s | %s | %.0f |\n' "$name" "$seconds" "$(echo "$rss / 1024" | bc -l)"
+}
+
+mkdir -p "$(dirname "$REPORT")"
+{
+    echo "| Variant | Startup (s, median of $RUNS) | RSS after startup (MB, median) |"
+    echo "|---|---|---|"
+    measure "JVM boot jar" "$JAVA" -jar "$BOOT_JAR"
+    if [ -f "$CDS_ARCHIVE" ]; then
+        measure "JVM AOT + CDS" "$JAVA" -XX:SharedArchiveFile="$CDS_ARCHIVE" -Dspring.aot.enabled=true \
+            -cp "$CDS_JAR" com.zoola.tutorial.TutorialApplication
+    fi
+    if [ -x "$NATIVE" ]; then
+        measure "Native image" "$NATIVE"
+    fi
+} | tee "$REPORT"
@@ -0,0 +1,50 @@
+package com.zoola.tutorial.benchmark;
+
+import com.zoola.tutorial.TutorialApplication;
+import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.service.TutorialService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+
+    static final String TITLE_QUERY = "Spring";
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private BenchmarkData() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(TutorialApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN"
+                )
+                .run();
+    }
+
+    static List<Tutorial> tutorials(final int from, final int count) {
+        final List<Tutorial> tutorials = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            // every tenth tutorial matches TITLE_QUERY
+            final String title = (i % 10 == 0 ? TITLE_QUERY : "Java") + " Tutorial " + i;
+            tutorials.add(new Tutorial(title, "Description of tutorial " + i, i % 2 == 0));
+        }
+        return tutorials;
+    }
+
+    static List<Tutorial> seed(final TutorialService tutorialService, final int rows) {
+        final List<Tutorial> saved = new ArrayList<>(rows);
+        for (int from = 0; from < rows; from += CHUNK_SIZE) {
+            saved.addAll(tutorialService.createTutorials(tutorials(from, Math.min(CHUNK_SIZE, rows - from))));
+        }
+        return saved;
+    }
+}
@@ -0,0 +1,72 @@
+package com.zoola.tutorial.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoola.tutorial.exception.ErrorMessage;
+import com.zoola.tutorial.exception.ProblemTemplate;
+import com.zoola.tutorial.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// A miss is thrown from below the dispatcher, controller and service proxies, depth stands in for those frames
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class NotFoundBenchmark {
+
+    private static final String DETAIL = "Tutorial not found with id: 42";
+    private static final String INSTANCE = "/api/tutorials/42";
+
+    @Param({"10", "100"})
+    private int depth;
+
+    private ObjectMapper objectMapper;
+    private ProblemTemplate template;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        template = new ProblemTemplate(HttpStatus.NOT_FOUND);
+    }
+
+    @Benchmark
+    public byte[] stackTraceAndErrorMessage() throws JsonProcessingException {
+        try {
+            throwAt(depth, true);
+            return null;
+        } catch (RuntimeException e) {
+            return objectMapper.writeValueAsBytes(new ErrorMessage(404, new Date(), e.getMessage(), "uri=" + INSTANCE));
+        }
+    }
+
+    @Benchmark
+    public byte[] stacklessAndProblemTemplate() {
+        try {
+            throwAt(depth, false);
+            return null;
+        } catch (RuntimeException e) {
+            return template.render(e.getMessage(), INSTANCE);
+        }
+    }
+
+    private static void throwAt(final int depth, final boolean stackTrace) {
+        if (depth > 0) {
+            throwAt(depth - 1, stackTrace);
+            return;
+        }
+
+        throw stackTrace ? new StackTraceNotFoundException(DETAIL) : new ResourceNotFoundException(DETAIL);
+    }
+
+    // how ResourceNotFoundException was declared before it went stackless
+    private static final class StackTraceNotFoundException extends RuntimeException {
+
+        private StackTraceNotFoundException(final String message) {
+            super(message);
+        }
+    }
+}
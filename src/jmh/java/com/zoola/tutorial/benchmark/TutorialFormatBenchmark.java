@@ -0,0 +1,69 @@
+package com.zoola.tutorial.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.zoola.tutorial.model.Tutorial;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Encode time per listing format, with and without the gzip Tomcat applies above server.compression.min-response-size;
+// the wire counter reports the encoded size in bytes
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TutorialFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private List<Tutorial> tutorials;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        objectMapper = switch (format) {
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            default -> builder.build();
+        };
+        tutorials = BenchmarkData.tutorials(0, rows);
+        for (int i = 0; i < rows; i++) {
+            tutorials.get(i).setId((long) i + 1);
+        }
+    }
+
+    @Benchmark
+    public byte[] encode(final Wire wire) throws IOException {
+        final byte[] body = objectMapper.writeValueAsBytes(tutorials);
+        wire.bytes = body.length;
+        return body;
+    }
+
+    @Benchmark
+    public byte[] encodeGzip(final Wire wire) throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(body)) {
+            objectMapper.writeValue(gzip, tutorials);
+        }
+        wire.bytes = body.size();
+        return body.toByteArray();
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Wire {
+
+        public long bytes;
+    }
+}
@@ -0,0 +1,110 @@
+package com.zoola.tutorial.benchmark;
+
+import com.zoola.tutorial.TutorialApplication;
+import com.zoola.tutorial.service.TutorialService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Compares the platform-thread and virtual-thread request modes under the same closed-loop load.
+// Run with ./gradlew loadTest, which launches it on a Java 21 toolchain.
+public final class TutorialLoadTest {
+
+    private static final int ROWS = Integer.getInteger("loadtest.rows", 10_000);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 400);
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 40_000);
+    private static final String PATH = System.getProperty("loadtest.path", "/api/tutorials?size=50");
+
+    private TutorialLoadTest() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        // on 17 the virtual-threads profile silently falls back to platform threads and both runs measure the same thing
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("The load test compares virtual threads and needs Java 21 or later, running on "
+                    + Runtime.version());
+        }
+
+        for (String profile : List.of("default", "virtual-threads")) {
+            try (ConfigurableApplicationContext context = start(profile)) {
+                BenchmarkData.seed(context.getBean(TutorialService.class), ROWS);
+
+                final int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                final Result warmup = run(port, CONCURRENCY, REQUESTS / 4);
+                final Result result = run(port, CONCURRENCY, REQUESTS);
+
+                System.out.printf("%-16s warmup %8.0f req/s | %8.0f req/s  p50 %6.2f ms  p99 %6.2f ms  errors %d%n",
+                        profile, warmup.throughput(), result.throughput(),
+                        result.percentile(0.50), result.percentile(0.99), result.errors());
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(final String profile) {
+        return new SpringApplicationBuilder(TutorialApplication.class)
+                .profiles(profile)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest-" + profile,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN"
+                )
+                .run();
+    }
+
+    private static Result run(final int port, final int concurrency, final int requests) throws InterruptedException {
+        final HttpClient client = HttpClient.newHttpClient();
+        final HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PATH)).GET().build();
+        final long[] latencies = new long[requests];
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicInteger errors = new AtomicInteger();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        final long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            executor.execute(() -> {
+                int index;
+                while ((index = next.getAndIncrement()) < requests) {
+                    final long sent = System.nanoTime();
+                    try {
+                        final HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[index] = System.nanoTime() - sent;
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.HOURS);
+        final long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Result(latencies, elapsed, errors.get());
+    }
+
+    private record Result(long[] sortedLatencies, long elapsedNanos, int errors) {
+
+        double throughput() {
+            return sortedLatencies.length / (elapsedNanos / 1e9);
+        }
+
+        double percentile(final double percentile) {
+            final int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.zoola.tutorial.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoola.tutorial.model.Tutorial;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TutorialSerializationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private List<Tutorial> tutorials;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        tutorials = BenchmarkData.tutorials(0, rows);
+        for (int i = 0; i < rows; i++) {
+            tutorials.get(i).setId((long) i + 1);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeTutorials() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tutorials);
+    }
+}
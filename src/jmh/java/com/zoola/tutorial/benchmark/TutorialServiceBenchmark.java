@@ -0,0 +1,71 @@
+package com.zoola.tutorial.benchmark;
+
+import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.repository.TutorialRepository;
+import com.zoola.tutorial.service.TutorialService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TutorialServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TutorialService tutorialService;
+    private TutorialRepository tutorialRepository;
+    private long id;
+    private long revision;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.start();
+        tutorialService = context.getBean(TutorialService.class);
+        tutorialRepository = context.getBean(TutorialRepository.class);
+
+        List<Tutorial> tutorials = BenchmarkData.seed(tutorialService, rows);
+        id = tutorials.get(tutorials.size() / 2).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Tutorial> getAllTutorials() {
+        return tutorialService.getAllTutorials(null);
+    }
+
+    @Benchmark
+    public List<Tutorial> getAllTutorialsWithTitle() {
+        return tutorialService.getAllTutorials(BenchmarkData.TITLE_QUERY);
+    }
+
+    @Benchmark
+    public Tutorial getTutorialById() {
+        return tutorialService.getTutorialById(id);
+    }
+
+    @Benchmark
+    public Optional<Tutorial> findById() {
+        return tutorialRepository.findById(id);
+    }
+
+    @Benchmark
+    public List<Tutorial> findByPublished() {
+        return tutorialRepository.findByPublished(true);
+    }
+
+    @Benchmark
+    public Tutorial updateTutorial() {
+        return tutorialService.updateTutorial(id, new Tutorial("Updated " + revision++, "Updated description", true));
+    }
+}
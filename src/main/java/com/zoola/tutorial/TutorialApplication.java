@@ -1,9 +1,12 @@
 package com.zoola.tutorial;
 
+import com.zoola.tutorial.config.TutorialRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(TutorialRuntimeHints.class)
 public class TutorialApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,32 @@
+package com.zoola.tutorial.changes;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+@Schema(description = "Committed change to one or more tutorials")
+public record TutorialChange(
+        @Schema(description = "Sequence number, increasing by one per change", example = "42")
+        long sequence,
+
+        @Schema(description = "Kind of change")
+        Type type,
+
+        @Schema(description = "Ids of the changed tutorials, empty when every tutorial may have changed")
+        List<Long> ids,
+
+        @Schema(description = "Time the change was recorded")
+        Instant timestamp
+) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        // every tutorial was deleted
+        CLEARED,
+        // an unknown set of tutorials changed, consumers should reload
+        INVALIDATED
+    }
+}
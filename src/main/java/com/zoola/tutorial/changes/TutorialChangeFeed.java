@@ -0,0 +1,210 @@
+package com.zoola.tutorial.changes;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Subscribers are async SseEmitters holding only a cursor into the shared ring of changes. Each one is drained by
+// at most one sender thread at a time, so an idle subscriber costs no thread and a slow one holds up only itself
+// (a blocked send ends at the connector's write timeout). A subscriber more than max-lag changes behind is reset
+// instead of replayed, and a periodic comment finds connections that went away without closing.
+@Component
+public class TutorialChangeFeed {
+
+    public static final String RESET_EVENT = "RESET";
+    public static final String HEARTBEAT_COMMENT = "heartbeat";
+
+    private final TutorialChange[] buffer;
+    private final int maxIds;
+    private final int maxLag;
+    private final Duration timeout;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(daemon("tutorial-changes-heartbeat"));
+
+    private long lastSequence;
+
+    public TutorialChangeFeed(@Value("${tutorial.changes.capacity:10000}") final int capacity,
+                              @Value("${tutorial.changes.max-ids:1000}") final int maxIds,
+                              @Value("${tutorial.changes.max-lag:1000}") final int maxLag,
+                              @Value("${tutorial.changes.senders:4}") final int senders,
+                              @Value("${tutorial.changes.timeout:30m}") final Duration timeout,
+                              @Value("${tutorial.changes.heartbeat:15s}") final Duration heartbeat) {
+        this.buffer = new TutorialChange[capacity];
+        this.maxIds = maxIds;
+        this.maxLag = maxLag;
+        this.timeout = timeout;
+        this.senders = Executors.newFixedThreadPool(senders, daemon("tutorial-changes"));
+
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTutorialChanged(final TutorialChangedEvent event) {
+        append(event.type(), event.ids());
+        subscribers.forEach(this::signal);
+    }
+
+    public synchronized TutorialChange append(final TutorialChange.Type type, final List<Long> ids) {
+        // a bulk change is kept without its ids, consumers reload rather than the ring holding every id
+        final TutorialChange change = ids.size() > maxIds
+                ? new TutorialChange(++lastSequence, TutorialChange.Type.INVALIDATED, List.of(), Instant.now())
+                : new TutorialChange(++lastSequence, type, List.copyOf(ids), Instant.now());
+        buffer[(int) (change.sequence() % buffer.length)] = change;
+
+        return change;
+    }
+
+    public synchronized Changes since(final long sequence) {
+        final long oldest = Math.max(1, lastSequence - buffer.length + 1);
+        // a sequence ahead of ours was issued before a restart, the consumer has to start over
+        final boolean truncated = sequence + 1 < oldest || sequence > lastSequence;
+
+        final List<TutorialChange> changes = new ArrayList<>();
+        for (long next = truncated ? oldest : sequence + 1; next <= lastSequence; next++) {
+            changes.add(buffer[(int) (next % buffer.length)]);
+        }
+
+        return new Changes(changes, truncated);
+    }
+
+    // what a subscriber at the given sequence is sent next: at most max-lag changes, truncated if it is further behind
+    synchronized Changes pending(final long sequence) {
+        if (sequence < lastSequence && lastSequence - sequence > maxLag) {
+            return new Changes(since(lastSequence - maxLag).changes(), true);
+        }
+
+        return since(sequence);
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    public SseEmitter subscribe(final Long since) {
+        final SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        final Subscriber subscriber = new Subscriber(emitter, since == null ? lastSequence() : since);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        subscribers.add(subscriber);
+        signal(subscriber);
+
+        return emitter;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void heartbeat() {
+        subscribers.forEach(subscriber -> {
+            subscriber.heartbeatDue = true;
+            signal(subscriber);
+        });
+    }
+
+    private void signal(final Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                // shutting down
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    // a signal that arrives while the subscriber is being drained is picked up by the loop instead of queued
+    private void drain(final Subscriber subscriber) {
+        do {
+            deliver(subscriber);
+            subscriber.draining.set(false);
+        } while (subscribers.contains(subscriber)
+                && (subscriber.heartbeatDue || subscriber.lastSequence < lastSequence())
+                && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void deliver(final Subscriber subscriber) {
+        final Changes changes = pending(subscriber.lastSequence);
+
+        try {
+            if (subscriber.heartbeatDue) {
+                subscriber.heartbeatDue = false;
+                subscriber.emitter.send(SseEmitter.event().comment(HEARTBEAT_COMMENT));
+            }
+            if (changes.truncated()) {
+                // the consumer missed changes it will not be sent and has to reload before applying these
+                subscriber.emitter.send(SseEmitter.event().name(RESET_EVENT).data(lastSequence()));
+                subscriber.lastSequence = changes.changes().isEmpty()
+                        ? lastSequence()
+                        : changes.changes().get(0).sequence() - 1;
+            }
+            for (TutorialChange change : changes.changes()) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(Long.toString(change.sequence()))
+                        .name(change.type().name())
+                        .data(change, MediaType.APPLICATION_JSON));
+                subscriber.lastSequence = change.sequence();
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    private static ThreadFactory daemon(final String name) {
+        final AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public record Changes(List<TutorialChange> changes, boolean truncated) {
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long lastSequence;
+        private volatile boolean heartbeatDue;
+
+        private Subscriber(final SseEmitter emitter, final long lastSequence) {
+            this.emitter = emitter;
+            this.lastSequence = lastSequence;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.zoola.tutorial.changes;
+
+import java.util.List;
+
+public record TutorialChangedEvent(TutorialChange.Type type, List<Long> ids) {
+
+    public static TutorialChangedEvent created(final List<Long> ids) {
+        return new TutorialChangedEvent(TutorialChange.Type.CREATED, ids);
+    }
+
+    public static TutorialChangedEvent updated(final List<Long> ids) {
+        return new TutorialChangedEvent(TutorialChange.Type.UPDATED, ids);
+    }
+
+    public static TutorialChangedEvent deleted(final List<Long> ids) {
+        return new TutorialChangedEvent(TutorialChange.Type.DELETED, ids);
+    }
+
+    public static TutorialChangedEvent cleared() {
+        return new TutorialChangedEvent(TutorialChange.Type.CLEARED, List.of());
+    }
+
+    public static TutorialChangedEvent invalidated() {
+        return new TutorialChangedEvent(TutorialChange.Type.INVALIDATED, List.of());
+    }
+}
@@ -0,0 +1,15 @@
+package com.zoola.tutorial.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Runs the cache advice around the transaction advice, so @CachePut and @CacheEvict act after the commit and a
+// rolled back update (e.g. an optimistic lock failure at flush) never reaches the cache
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String TUTORIALS = "tutorials";
+    public static final String PUBLISHED_TUTORIALS = "publishedTutorials";
+}
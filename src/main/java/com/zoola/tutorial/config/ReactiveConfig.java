@@ -0,0 +1,32 @@
+package com.zoola.tutorial.config;
+
+import com.zoola.tutorial.model.ReactiveTutorial;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    // Takes a whole value of the pooled tutorials_seq, which JPA never hands out itself
+    @Bean
+    public BeforeConvertCallback<ReactiveTutorial> tutorialIdCallback(final DatabaseClient databaseClient) {
+        return (tutorial, table) -> {
+            if (tutorial.getId() != null) {
+                return Mono.just(tutorial);
+            }
+
+            return databaseClient.sql("select next value for tutorials_seq")
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .map(id -> {
+                        tutorial.setId(id);
+                        return tutorial;
+                    });
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.zoola.tutorial.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionManager;
+
+// Only the reactive profile brings in R2DBC, whose transaction manager makes Boot back off from the JPA one,
+// so it is declared here the way Boot would, spring.transaction.* customizers included, and stays the default
+@Configuration
+@Profile("reactive")
+public class TransactionConfig {
+
+    @Bean
+    @Primary
+    public JpaTransactionManager transactionManager(final EntityManagerFactory entityManagerFactory,
+                                                    final ObjectProvider<TransactionManagerCustomizers> customizers) {
+        final JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        // the PlatformTransactionManager overload is deprecated for removal
+        customizers.ifAvailable(customizer -> customizer.customize((TransactionManager) transactionManager));
+        return transactionManager;
+    }
+}
@@ -0,0 +1,42 @@
+package com.zoola.tutorial.config;
+
+import com.zoola.tutorial.changes.TutorialChange;
+import com.zoola.tutorial.exception.ErrorMessage;
+import com.zoola.tutorial.model.BulkUpdateResult;
+import com.zoola.tutorial.model.TableVersion;
+import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.model.TutorialPage;
+import com.zoola.tutorial.model.TutorialPatch;
+import com.zoola.tutorial.model.TutorialSearchPage;
+import com.zoola.tutorial.model.TutorialSummary;
+import com.zoola.tutorial.model.TutorialVersion;
+import com.zoola.tutorial.model.WriteStatus;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+// Types the native image only reaches reflectively: Jackson bodies written outside controller signatures
+// (SSE events, exception handlers, replica JSON) and the records built by JPQL and criteria constructor expressions
+public class TutorialRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(final RuntimeHints hints, final ClassLoader classLoader) {
+        bindings.registerReflectionHints(hints.reflection(),
+                Tutorial.class,
+                TutorialPage.class,
+                TutorialSearchPage.class,
+                TutorialSummary.class,
+                TutorialPatch.class,
+                BulkUpdateResult.class,
+                WriteStatus.class,
+                TutorialChange.class,
+                ErrorMessage.class);
+
+        hints.reflection().registerType(TableVersion.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        hints.reflection().registerType(TutorialVersion.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        hints.reflection().registerType(TutorialSummary.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+    }
+}
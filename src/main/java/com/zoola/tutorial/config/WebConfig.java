@@ -0,0 +1,39 @@
+package com.zoola.tutorial.config;
+
+import com.zoola.tutorial.web.BulkheadInterceptor;
+import com.zoola.tutorial.web.BulkheadProperties;
+import com.zoola.tutorial.web.ConnectionLimitInterceptor;
+import com.zoola.tutorial.web.RateLimitInterceptor;
+import com.zoola.tutorial.web.RateLimitProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties({BulkheadProperties.class, RateLimitProperties.class})
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<RateLimitInterceptor> rateLimitInterceptor;
+    private final ObjectProvider<BulkheadInterceptor> bulkheadInterceptor;
+    private final ObjectProvider<ConnectionLimitInterceptor> connectionLimitInterceptor;
+
+    // rejected by rate first, then by endpoint concurrency, and only then admitted to the connection pool
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        rateLimitInterceptor.ifAvailable(interceptor -> registry
+                .addInterceptor(interceptor)
+                .addPathPatterns("/api/**"));
+        bulkheadInterceptor.ifAvailable(interceptor -> registry
+                .addInterceptor(interceptor)
+                .addPathPatterns("/api/**"));
+        connectionLimitInterceptor.ifAvailable(interceptor -> registry
+                .addInterceptor(interceptor)
+                .addPathPatterns("/api/**")
+                // a change feed subscription never touches the database but would hold its permit for hours
+                .excludePathPatterns("/api/tutorials/changes"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.zoola.tutorial.controller;
+
+import com.zoola.tutorial.exception.ErrorMessage;
+import com.zoola.tutorial.exception.ResourceNotFoundException;
+import com.zoola.tutorial.model.ReactiveTutorial;
+import com.zoola.tutorial.repository.ReactiveTutorialRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@CrossOrigin(origins = "http://localhost:8081")
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class ReactiveTutorialController {
+
+    private final ReactiveTutorialRepository tutorialRepository;
+
+    // Flux results are written as they arrive, so an empty listing is 200 with [] rather than 204
+    @GetMapping(value = "/tutorials", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<ReactiveTutorial> getAllTutorials(@RequestParam(required = false) String title) {
+        if (title == null) {
+            return tutorialRepository.findAll();
+        } else {
+            return tutorialRepository.findByTitleContaining(title);
+        }
+    }
+
+    @GetMapping("/tutorials/{id}")
+    public Mono<ReactiveTutorial> getTutorialById(@PathVariable("id") long id) {
+        return findTutorial(id);
+    }
+
+    @PostMapping("/tutorials")
+    public Mono<ResponseEntity<ReactiveTutorial>> createTutorial(@RequestBody ReactiveTutorial tutorial) {
+        return tutorialRepository
+                .save(new ReactiveTutorial(tutorial.getTitle(), tutorial.getDescription(), tutorial.isPublished()))
+                .map(_tutorial -> new ResponseEntity<>(_tutorial, HttpStatus.CREATED));
+    }
+
+    @PutMapping("/tutorials/{id}")
+    public Mono<ReactiveTutorial> updateTutorial(@PathVariable("id") final long id, @RequestBody final ReactiveTutorial tutorial) {
+        return findTutorial(id)
+                .flatMap(_tutorial -> {
+                    _tutorial.setTitle(tutorial.getTitle());
+                    _tutorial.setDescription(tutorial.getDescription());
+                    _tutorial.setPublished(tutorial.isPublished());
+
+                    return tutorialRepository.save(_tutorial);
+                });
+    }
+
+    @DeleteMapping("/tutorials/{id}")
+    public Mono<ResponseEntity<Void>> deleteTutorial(@PathVariable("id") long id) {
+        return tutorialRepository.deleteById(id)
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+
+    @DeleteMapping("/tutorials")
+    public Mono<ResponseEntity<Void>> deleteAllTutorials() {
+        return tutorialRepository.deleteAll()
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+
+    @GetMapping(value = "/tutorials/published", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<ReactiveTutorial> findByPublished() {
+        return tutorialRepository.findByPublished(true);
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ErrorMessage resourceNotFoundException(final ResourceNotFoundException exception, final ServerHttpRequest request) {
+
+        return new ErrorMessage(
+                HttpStatus.NOT_FOUND.value(),
+                new Date(),
+                exception.getMessage(),
+                "uri=" + request.getPath()
+        );
+    }
+
+    private Mono<ReactiveTutorial> findTutorial(final long id) {
+        return tutorialRepository
+                .findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Tutorial not found with id: " + id)));
+    }
+}
@@ -0,0 +1,43 @@
+package com.zoola.tutorial.controller;
+
+import com.zoola.tutorial.changes.TutorialChangeFeed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.Parameters;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@CrossOrigin(origins = "http://localhost:8081")
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Tag(name = "Tutorial", description = "Tutorial API")
+public class TutorialChangeController {
+
+    public static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final TutorialChangeFeed changeFeed;
+
+    @Operation(
+            summary = "Stream tutorial changes",
+            description = "Stream committed tutorial changes as server-sent events, resuming after the given sequence",
+            tags = {"tutorials", "get"}
+    )
+    @Parameters({
+            @Parameter(name = LAST_EVENT_ID, description = "Sequence of the last change received", in = ParameterIn.HEADER, schema = @Schema(implementation = Long.class)),
+            @Parameter(name = "since", description = "Sequence to resume after when no Last-Event-ID is sent", in = ParameterIn.QUERY, schema = @Schema(implementation = Long.class))
+    })
+    @GetMapping(value = "/tutorials/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = LAST_EVENT_ID, required = false) Long lastEventId,
+                                    @RequestParam(required = false) Long since) {
+        // browsers resend the id of the last event when they reconnect, which wins over the initial query
+        return changeFeed.subscribe(lastEventId != null ? lastEventId : since);
+    }
+}
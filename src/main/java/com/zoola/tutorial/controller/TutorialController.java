@@ -1,7 +1,17 @@
 package com.zoola.tutorial.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.zoola.tutorial.exception.PreconditionFailedException;
+import com.zoola.tutorial.model.BulkUpdateResult;
+import com.zoola.tutorial.model.CollectionVersion;
 import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.model.TutorialPage;
+import com.zoola.tutorial.model.TutorialPatch;
+import com.zoola.tutorial.model.TutorialSearchPage;
+import com.zoola.tutorial.model.TutorialSummary;
 import com.zoola.tutorial.service.TutorialService;
+import com.zoola.tutorial.web.Representations;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.Parameters;
@@ -11,13 +21,23 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
 
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @CrossOrigin(origins = "http://localhost:8081")
 @RestController
 @RequestMapping("/api")
@@ -26,6 +46,7 @@ import java.util.List;
 public class TutorialController {
 
     private final TutorialService tutorialService;
+    private final ObjectMapper objectMapper;
 
     @Operation(
             summary = "Get all tutorials",
@@ -37,25 +58,149 @@ public class TutorialController {
             @ApiResponse(responseCode = "204", content = {@Content(schema = @Schema())}),
             @ApiResponse(responseCode = "500", content = {@Content(schema = @Schema())})
     })
+    @GetMapping("/tutorials")
+    public ResponseEntity<List<Tutorial>> getAllTutorials() {
+        return listOrNoContent(tutorialService.getAllTutorials(null));
+    }
+
+    // a handler of its own, so rate limits and bulkheads keyed on the handler tell a filtered listing from a full one
+    @Operation(
+            summary = "Get tutorials by title",
+            description = "Get the tutorials whose title contains the given text",
+            tags = {"tutorials", "get"}
+    )
     @Parameters({
             @Parameter(name = "title", description = "Tutorial title", in = ParameterIn.QUERY, schema = @Schema(implementation = String.class))
     })
-    @GetMapping("/tutorials")
-    public ResponseEntity<List<Tutorial>> getAllTutorials(@RequestParam(required = false) String title) {
-        List<Tutorial> tutorials = tutorialService.getAllTutorials(title);
+    @GetMapping(value = "/tutorials", params = {"title", "!size"})
+    public ResponseEntity<List<Tutorial>> findTutorialsByTitle(@RequestParam String title) {
+        return listOrNoContent(tutorialService.getAllTutorials(title));
+    }
 
-        if (tutorials.isEmpty()) {
+    @Operation(
+            summary = "Get a page of tutorials",
+            description = "Get tutorials ordered by id, one keyset page at a time",
+            tags = {"tutorials", "get"}
+    )
+    @Parameters({
+            @Parameter(name = "title", description = "Tutorial title", in = ParameterIn.QUERY, schema = @Schema(implementation = String.class)),
+            @Parameter(name = "cursor", description = "Cursor returned as next by the previous page", in = ParameterIn.QUERY, schema = @Schema(implementation = String.class)),
+            @Parameter(name = "size", description = "Page size", in = ParameterIn.QUERY, schema = @Schema(implementation = Integer.class))
+    })
+    @GetMapping(value = "/tutorials", params = "size")
+    public ResponseEntity<TutorialPage> getTutorialPage(@RequestParam(required = false) String title,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam int size) {
+        TutorialPage page = tutorialService.getTutorialPage(title, cursor, size);
+
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(
+            summary = "Stream all tutorials",
+            description = "Stream all tutorials as newline delimited JSON",
+            tags = {"tutorials", "get"}
+    )
+    @GetMapping(value = "/tutorials", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllTutorials() {
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writerFor(Tutorial.class)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                tutorialService.streamAllTutorials(tutorial -> {
+                    try {
+                        writer.write(tutorial);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @Operation(
+            summary = "Search tutorials",
+            description = "Search tutorial titles and descriptions, best match first",
+            tags = {"tutorials", "get"}
+    )
+    @Parameters({
+            @Parameter(name = "q", description = "Text to search for", in = ParameterIn.QUERY, schema = @Schema(implementation = String.class)),
+            @Parameter(name = "page", description = "Zero-based page number", in = ParameterIn.QUERY, schema = @Schema(implementation = Integer.class)),
+            @Parameter(name = "size", description = "Page size", in = ParameterIn.QUERY, schema = @Schema(implementation = Integer.class))
+    })
+    @GetMapping("/tutorials/search")
+    public ResponseEntity<TutorialSearchPage> searchTutorials(@RequestParam String q,
+                                                              @RequestParam(defaultValue = "0") int page,
+                                                              @RequestParam(defaultValue = "20") int size) {
+        TutorialSearchPage result = tutorialService.searchTutorials(q, page, size);
+
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(
+            summary = "Get tutorial summaries",
+            description = "Get the id, title and published status of tutorials without loading full entities",
+            tags = {"tutorials", "get"}
+    )
+    @Parameters({
+            @Parameter(name = "title", description = "Tutorial title", in = ParameterIn.QUERY, schema = @Schema(implementation = String.class)),
+            @Parameter(name = "published", description = "Tutorial published status", in = ParameterIn.QUERY, schema = @Schema(implementation = Boolean.class))
+    })
+    @GetMapping("/tutorials/summaries")
+    public ResponseEntity<List<TutorialSummary>> getTutorialSummaries(@RequestParam(required = false) String title,
+                                                                      @RequestParam(required = false) Boolean published) {
+        List<TutorialSummary> summaries = tutorialService.getTutorialSummaries(title, published);
+
+        if (summaries.isEmpty()) {
             return ResponseEntity.noContent().build();
         }
 
-        return ResponseEntity.ok(tutorials);
+        return ResponseEntity.ok(summaries);
+    }
+
+    @Operation(
+            summary = "Get selected tutorial fields",
+            description = "Get only the selected fields of tutorials, one of id, title, description, published and version",
+            tags = {"tutorials", "get"}
+    )
+    @Parameters({
+            @Parameter(name = "fields", description = "Comma separated fields to select", in = ParameterIn.QUERY, schema = @Schema(implementation = String.class)),
+            @Parameter(name = "title", description = "Tutorial title", in = ParameterIn.QUERY, schema = @Schema(implementation = String.class)),
+            @Parameter(name = "published", description = "Tutorial published status", in = ParameterIn.QUERY, schema = @Schema(implementation = Boolean.class))
+    })
+    @GetMapping(value = "/tutorials/summaries", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getTutorialFields(@RequestParam List<String> fields,
+                                                                       @RequestParam(required = false) String title,
+                                                                       @RequestParam(required = false) Boolean published) {
+        List<Map<String, Object>> rows = tutorialService.getTutorialFields(fields, title, published);
+
+        if (rows.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+
+        return ResponseEntity.ok(rows);
     }
 
     @GetMapping("/tutorials/{id}")
-    public ResponseEntity<Tutorial> getTutorialById(@PathVariable("id") long id) {
+    public ResponseEntity<Tutorial> getTutorialById(@PathVariable("id") long id, WebRequest request,
+                                                    HttpServletResponse response) {
+        // the tag depends on the negotiated format, and a 304 has to say so as well
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        // a revalidation only needs the version column, the entity is loaded when it has changed
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(Representations.etag(
+                        Long.toString(tutorialService.getTutorialVersion(id)), request.getHeader(HttpHeaders.ACCEPT)))) {
+            return null;
+        }
+
         Tutorial tutorial = tutorialService.getTutorialById(id);
 
-        return ResponseEntity.ok(tutorial);
+        return okWithETag(tutorial, request.getHeader(HttpHeaders.ACCEPT));
     }
 
     @PostMapping("/tutorials")
@@ -66,10 +211,57 @@ public class TutorialController {
     }
 
     @PutMapping("/tutorials/{id}")
-    public ResponseEntity<Tutorial> updateTutorial(@PathVariable("id") final long id, @RequestBody final Tutorial tutorial) {
-        Tutorial _tutorial = tutorialService.updateTutorial(id, tutorial);
+    public ResponseEntity<Tutorial> updateTutorial(@PathVariable("id") final long id,
+                                                   @RequestBody final Tutorial tutorial,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
+                                                   @RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept) {
+        Tutorial _tutorial = ifMatch == null || ifMatch.trim().equals("*")
+                ? tutorialService.updateTutorial(id, tutorial)
+                : tutorialService.updateTutorial(id, tutorial, parseVersion(ifMatch));
 
-        return ResponseEntity.ok(_tutorial);
+        return okWithETag(_tutorial, accept);
+    }
+
+    @PatchMapping("/tutorials/{id}")
+    public ResponseEntity<HttpStatus> patchTutorial(@PathVariable("id") final long id,
+                                                    @RequestBody final TutorialPatch patch) {
+        tutorialService.patchTutorial(id, patch);
+
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(
+            summary = "Publish tutorials",
+            description = "Publish the tutorials with the given ids, or with a title containing the given string",
+            tags = {"tutorials", "post"}
+    )
+    @Parameters({
+            @Parameter(name = "ids", description = "Tutorial ids", in = ParameterIn.QUERY, schema = @Schema(implementation = Long[].class)),
+            @Parameter(name = "title", description = "Tutorial title", in = ParameterIn.QUERY, schema = @Schema(implementation = String.class))
+    })
+    @PostMapping("/tutorials/publish")
+    public ResponseEntity<BulkUpdateResult> publishTutorials(@RequestParam(required = false) List<Long> ids,
+                                                             @RequestParam(required = false) String title) {
+        int updated = tutorialService.updatePublished(ids, title, true);
+
+        return ResponseEntity.ok(new BulkUpdateResult(updated));
+    }
+
+    @Operation(
+            summary = "Unpublish tutorials",
+            description = "Unpublish the tutorials with the given ids, or with a title containing the given string",
+            tags = {"tutorials", "post"}
+    )
+    @Parameters({
+            @Parameter(name = "ids", description = "Tutorial ids", in = ParameterIn.QUERY, schema = @Schema(implementation = Long[].class)),
+            @Parameter(name = "title", description = "Tutorial title", in = ParameterIn.QUERY, schema = @Schema(implementation = String.class))
+    })
+    @PostMapping("/tutorials/unpublish")
+    public ResponseEntity<BulkUpdateResult> unpublishTutorials(@RequestParam(required = false) List<Long> ids,
+                                                               @RequestParam(required = false) String title) {
+        int updated = tutorialService.updatePublished(ids, title, false);
+
+        return ResponseEntity.ok(new BulkUpdateResult(updated));
     }
 
     @DeleteMapping("/tutorials/{id}")
@@ -86,14 +278,71 @@ public class TutorialController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/tutorials/batch")
+    public ResponseEntity<List<Tutorial>> createTutorials(@RequestBody List<Tutorial> tutorials) {
+        List<Tutorial> _tutorials = tutorialService.createTutorials(tutorials);
+
+        return new ResponseEntity<>(_tutorials, HttpStatus.CREATED);
+    }
+
+    @PutMapping("/tutorials/batch")
+    public ResponseEntity<List<Tutorial>> updateTutorials(@RequestBody List<Tutorial> tutorials) {
+        List<Tutorial> _tutorials = tutorialService.updateTutorials(tutorials);
+
+        return ResponseEntity.ok(_tutorials);
+    }
+
+    @DeleteMapping("/tutorials/batch")
+    public ResponseEntity<HttpStatus> deleteTutorials(@RequestParam List<Long> ids) {
+        tutorialService.deleteTutorials(ids);
+
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/tutorials/published")
-    public ResponseEntity<List<Tutorial>> findByPublished() {
+    public ResponseEntity<List<Tutorial>> findByPublished(WebRequest request, HttpServletResponse response) {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(Representations.etag(
+                        tutorialService.getPublishedVersion().value(), request.getHeader(HttpHeaders.ACCEPT)))) {
+            return null;
+        }
+
         List<Tutorial> tutorials = tutorialService.findByPublished();
 
         if (tutorials.isEmpty()) {
             return ResponseEntity.noContent().build();
         }
 
+        return ResponseEntity.ok()
+                .eTag(Representations.etag(CollectionVersion.of(tutorials).value(), request.getHeader(HttpHeaders.ACCEPT)))
+                .body(tutorials);
+    }
+
+    private static ResponseEntity<List<Tutorial>> listOrNoContent(final List<Tutorial> tutorials) {
+        if (tutorials.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+
         return ResponseEntity.ok(tutorials);
     }
+
+    private static ResponseEntity<Tutorial> okWithETag(final Tutorial tutorial, final String accept) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+
+        if (tutorial.getVersion() != null) {
+            response.eTag(Representations.etag(tutorial.getVersion().toString(), accept));
+        }
+
+        return response.body(tutorial);
+    }
+
+    private static long parseVersion(final String etag) {
+        try {
+            return Long.parseLong(Representations.value(etag));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("Entity tag does not match any version: " + etag);
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package com.zoola.tutorial.controller;
+
+import com.zoola.tutorial.export.TutorialExporter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@CrossOrigin(origins = "http://localhost:8081")
+@RestController
+@RequestMapping("/api")
+@Tag(name = "Tutorial", description = "Tutorial API")
+public class TutorialExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final TutorialExporter exporter;
+    private final long timeout;
+    // an export holds its thread for as long as the client reads, so it gets its own instead of the shared MVC pool
+    private final SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("tutorial-export-");
+
+    public TutorialExportController(final TutorialExporter exporter,
+                                    @Value("${tutorial.export.timeout:1h}") final Duration timeout) {
+        this.exporter = exporter;
+        this.timeout = timeout.toMillis();
+        this.executor.setDaemon(true);
+    }
+
+    @Operation(
+            summary = "Export all tutorials",
+            description = "Stream every tutorial as CSV or newline delimited JSON, gzipped when asked for",
+            tags = {"tutorials", "get"}
+    )
+    @GetMapping("/tutorials/export")
+    public WebAsyncTask<Void> exportTutorials(@RequestParam(defaultValue = "ndjson") String format,
+                                              @RequestParam(defaultValue = "false") boolean gzip,
+                                              HttpServletResponse response) {
+        TutorialExporter.Format exportFormat = TutorialExporter.Format.of(format);
+
+        response.setContentType(exportFormat.mediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("tutorials." + exportFormat.extension())
+                .build()
+                .toString());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        // a whole-table export outlives the default async timeout of 30s, the longer one applies to this request only
+        return new WebAsyncTask<>(timeout, executor, () -> {
+            OutputStream outputStream = response.getOutputStream();
+            if (gzip) {
+                // syncFlush so the exporter's periodic flushes reach the client through the deflater
+                try (GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE, true)) {
+                    exporter.export(exportFormat, gzipStream);
+                }
+            } else {
+                exporter.export(exportFormat, outputStream);
+            }
+            outputStream.flush();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,41 @@
+package com.zoola.tutorial.controller;
+
+import com.zoola.tutorial.ingest.TutorialImporter;
+import com.zoola.tutorial.model.ImportSummary;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@CrossOrigin(origins = "http://localhost:8081")
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Tag(name = "Tutorial", description = "Tutorial API")
+public class TutorialImportController {
+
+    private final TutorialImporter importer;
+
+    @Operation(
+            summary = "Import tutorials",
+            description = "Create tutorials from a JSON array or NDJSON of any size, optionally gzipped, and count what was accepted and rejected",
+            tags = {"tutorials", "post"}
+    )
+    @PostMapping(value = "/tutorials/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportSummary> importTutorials(
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) throws IOException {
+        InputStream input = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body) : body;
+
+        return ResponseEntity.ok(importer.importTutorials(input));
+    }
+}
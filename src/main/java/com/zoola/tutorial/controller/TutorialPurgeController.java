@@ -0,0 +1,66 @@
+package com.zoola.tutorial.controller;
+
+import com.zoola.tutorial.exception.ResourceNotFoundException;
+import com.zoola.tutorial.model.PurgeStatus;
+import com.zoola.tutorial.purge.TutorialPurgeJob;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@CrossOrigin(origins = "http://localhost:8081")
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Tag(name = "Tutorial", description = "Tutorial API")
+public class TutorialPurgeController {
+
+    private final TutorialPurgeJob purgeJob;
+
+    @Operation(
+            summary = "Start purging all tutorials",
+            description = "Delete all tutorials in the background in throttled id-range chunks and return the job to follow, "
+                    + "or the purge already running",
+            tags = {"tutorials", "delete"}
+    )
+    @PostMapping("/tutorials/purge")
+    public ResponseEntity<PurgeStatus> startPurge() {
+        PurgeStatus status = purgeJob.start();
+
+        return ResponseEntity
+                .accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .path("/{jobId}")
+                        .buildAndExpand(status.jobId())
+                        .toUri())
+                .body(status);
+    }
+
+    @Operation(
+            summary = "Get the progress of a purge",
+            description = "Get how many tutorials and id ranges a purge has deleted and whether it is still running",
+            tags = {"tutorials", "get"}
+    )
+    @GetMapping("/tutorials/purge/{jobId}")
+    public ResponseEntity<PurgeStatus> getPurgeStatus(@PathVariable("jobId") String jobId) {
+        return ResponseEntity.ok(purgeJob.status(jobId).orElseThrow(() -> notFound(jobId)));
+    }
+
+    @Operation(
+            summary = "Cancel a purge",
+            description = "Stop a purge after the id ranges in progress, tutorials already deleted stay deleted",
+            tags = {"tutorials", "delete"}
+    )
+    @DeleteMapping("/tutorials/purge/{jobId}")
+    public ResponseEntity<PurgeStatus> cancelPurge(@PathVariable("jobId") String jobId) {
+        return ResponseEntity.accepted().body(purgeJob.cancel(jobId).orElseThrow(() -> notFound(jobId)));
+    }
+
+    private static ResourceNotFoundException notFound(final String jobId) {
+        return new ResourceNotFoundException("No purge found with job id: " + jobId);
+    }
+}
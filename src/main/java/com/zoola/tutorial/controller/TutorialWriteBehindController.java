@@ -0,0 +1,58 @@
+package com.zoola.tutorial.controller;
+
+import com.zoola.tutorial.exception.ResourceNotFoundException;
+import com.zoola.tutorial.ingest.TutorialWriteBehindQueue;
+import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.model.WriteStatus;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+@ConditionalOnProperty(name = "tutorial.write-behind.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@CrossOrigin(origins = "http://localhost:8081")
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Tag(name = "Tutorial", description = "Tutorial API")
+public class TutorialWriteBehindController {
+
+    private final TutorialWriteBehindQueue writeBehindQueue;
+
+    @Operation(
+            summary = "Accept a tutorial for writing",
+            description = "Queue a tutorial to be written in the background and return a tracking id",
+            tags = {"tutorials", "post"}
+    )
+    @PostMapping("/tutorials/async")
+    public ResponseEntity<WriteStatus> createTutorialAsync(@RequestBody Tutorial tutorial) {
+        WriteStatus status = writeBehindQueue.submit(tutorial);
+
+        return ResponseEntity
+                .accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .path("/{trackingId}")
+                        .buildAndExpand(status.trackingId())
+                        .toUri())
+                .body(status);
+    }
+
+    @Operation(
+            summary = "Get the progress of an accepted tutorial",
+            description = "Get whether a tutorial accepted for writing is still queued, was written or failed",
+            tags = {"tutorials", "get"}
+    )
+    @GetMapping("/tutorials/async/{trackingId}")
+    public ResponseEntity<WriteStatus> getWriteStatus(@PathVariable("trackingId") String trackingId) {
+        WriteStatus status = writeBehindQueue
+                .status(trackingId)
+                .orElseThrow(() -> new ResourceNotFoundException("No write found with tracking id: " + trackingId));
+
+        return ResponseEntity.ok(status);
+    }
+}
@@ -0,0 +1,8 @@
+package com.zoola.tutorial.exception;
+
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(final String message) {
+        super(message);
+    }
+}
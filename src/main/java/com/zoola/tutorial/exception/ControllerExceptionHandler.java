@@ -1,6 +1,12 @@
 package com.zoola.tutorial.exception;
 
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -8,21 +14,58 @@ import org.springframework.web.context.request.WebRequest;
 
 import java.util.Date;
 
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RestControllerAdvice
 public class ControllerExceptionHandler {
 
+    // misses are the most frequent error by far, under id scans most of the traffic
+    private static final ProblemTemplate NOT_FOUND = new ProblemTemplate(HttpStatus.NOT_FOUND);
+
     @ExceptionHandler(value = {ResourceNotFoundException.class})
-    @ResponseStatus(HttpStatus.NOT_FOUND)
-    public ErrorMessage resourceNotFoundException(final ResourceNotFoundException exception, final WebRequest request) {
+    public ResponseEntity<byte[]> resourceNotFoundException(final ResourceNotFoundException exception, final HttpServletRequest request) {
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(NOT_FOUND.render(exception.getMessage(), request.getRequestURI()));
+    }
+
+    @ExceptionHandler(value = {BadRequestException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorMessage badRequestException(final BadRequestException exception, final WebRequest request) {
 
         return new ErrorMessage(
-                HttpStatus.NOT_FOUND.value(),
+                HttpStatus.BAD_REQUEST.value(),
                 new Date(),
                 exception.getMessage(),
                 request.getDescription(false)
         );
     }
 
+    @ExceptionHandler(value = {PreconditionFailedException.class, ObjectOptimisticLockingFailureException.class})
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ErrorMessage preconditionFailedException(final RuntimeException exception, final WebRequest request) {
+
+        return new ErrorMessage(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                new Date(),
+                exception.getMessage(),
+                request.getDescription(false)
+        );
+    }
+
+    @ExceptionHandler(value = {TooManyRequestsException.class})
+    public ResponseEntity<ErrorMessage> tooManyRequestsException(final TooManyRequestsException exception, final WebRequest request) {
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(exception.getRetryAfterSeconds()))
+                .body(new ErrorMessage(
+                        HttpStatus.TOO_MANY_REQUESTS.value(),
+                        new Date(),
+                        exception.getMessage(),
+                        request.getDescription(false)
+                ));
+    }
+
     @ExceptionHandler(value = {Exception.class})
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorMessage globalExceptionHandler(final Exception exception, final WebRequest request) {
@@ -0,0 +1,38 @@
+package com.zoola.tutorial.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+// RFC 7807 problem body with everything but detail and instance serialized once up front
+public final class ProblemTemplate {
+
+    private final byte[] head;
+    private final byte[] middle;
+    private final byte[] tail;
+
+    public ProblemTemplate(final HttpStatus status) {
+        this.head = ("{\"type\":\"about:blank\",\"title\":\"" + status.getReasonPhrase()
+                + "\",\"status\":" + status.value() + ",\"detail\":\"").getBytes(StandardCharsets.UTF_8);
+        this.middle = "\",\"instance\":\"".getBytes(StandardCharsets.UTF_8);
+        this.tail = "\"}".getBytes(StandardCharsets.UTF_8);
+    }
+
+    public byte[] render(final String detail, final String instance) {
+        final JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        final byte[] quotedDetail = encoder.quoteAsUTF8(detail == null ? "" : detail);
+        final byte[] quotedInstance = encoder.quoteAsUTF8(instance == null ? "" : instance);
+
+        final ByteArrayOutputStream body = new ByteArrayOutputStream(
+                head.length + quotedDetail.length + middle.length + quotedInstance.length + tail.length);
+        body.writeBytes(head);
+        body.writeBytes(quotedDetail);
+        body.writeBytes(middle);
+        body.writeBytes(quotedInstance);
+        body.writeBytes(tail);
+
+        return body.toByteArray();
+    }
+}
@@ -1,8 +1,9 @@
 package com.zoola.tutorial.exception;
 
+// Thrown for every unknown id, so it skips the stack trace: a miss is an answer, not a bug to debug
 public class ResourceNotFoundException extends RuntimeException {
 
     public ResourceNotFoundException(final String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,167 @@
+package com.zoola.tutorial.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoola.tutorial.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+
+// Writes rows straight from a JDBC cursor to the response, no entities and no list of rows are ever built;
+// the read-only transaction turns autocommit off, which drivers like PostgreSQL need to honour the fetch size
+@Component
+public class TutorialExporter {
+
+    private static final String QUERY = "select id, title, description, published, version from tutorials order by id";
+    private static final String CSV_HEADER = "id,title,description,published,version\n";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int flushRows;
+
+    public TutorialExporter(final DataSource dataSource,
+                            final ObjectMapper objectMapper,
+                            @Value("${tutorial.export.fetch-size:1000}") final int fetchSize,
+                            @Value("${tutorial.export.flush-rows:1000}") final int flushRows) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+        this.flushRows = flushRows;
+    }
+
+    @Transactional(readOnly = true)
+    public long export(final Format format, final OutputStream output) throws IOException {
+        try {
+            return switch (format) {
+                case CSV -> exportCsv(output);
+                case NDJSON -> exportNdjson(output);
+            };
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long exportCsv(final OutputStream output) throws IOException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+
+        final long rows = stream(rs -> {
+            writer.write(Long.toString(rs.getLong("id")));
+            writer.write(',');
+            writer.write(csv(rs.getString("title")));
+            writer.write(',');
+            writer.write(csv(rs.getString("description")));
+            writer.write(',');
+            writer.write(Boolean.toString(rs.getBoolean("published")));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong("version")));
+            writer.write('\n');
+        }, writer::flush);
+
+        writer.flush();
+        return rows;
+    }
+
+    private long exportNdjson(final OutputStream output) throws IOException {
+        final JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+        // the response owns the stream, closing the generator must not close it
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        final long rows = stream(rs -> {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeStringField("title", rs.getString("title"));
+            generator.writeStringField("description", rs.getString("description"));
+            generator.writeBooleanField("published", rs.getBoolean("published"));
+            generator.writeNumberField("version", rs.getLong("version"));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }, generator::flush);
+
+        generator.close();
+        return rows;
+    }
+
+    private long stream(final RowWriter rowWriter, final Flusher flusher) {
+        final long[] rows = {0};
+
+        jdbcTemplate.query(QUERY, rs -> {
+            try {
+                rowWriter.write(rs);
+                // flushing pushes finished rows to the client instead of letting them pile up in buffers
+                if (++rows[0] % flushRows == 0) {
+                    flusher.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return rows[0];
+    }
+
+    static String csv(final String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    public enum Format {
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(final MediaType mediaType, final String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format of(final String format) {
+            try {
+                return valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unknown export format: " + format + ", expected csv or ndjson");
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+
+    @FunctionalInterface
+    private interface Flusher {
+
+        void flush() throws IOException;
+    }
+}
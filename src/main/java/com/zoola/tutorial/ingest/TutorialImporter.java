@@ -0,0 +1,128 @@
+package com.zoola.tutorial.ingest;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoola.tutorial.exception.BadRequestException;
+import com.zoola.tutorial.model.ImportSummary;
+import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.service.TutorialService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+// Reads a JSON array or NDJSON one entry at a time and writes fixed-size chunks in a transaction each,
+// so only one chunk of tutorials is ever held no matter how large the input is
+@Component
+@Slf4j
+public class TutorialImporter {
+
+    private final TutorialService tutorialService;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public TutorialImporter(final TutorialService tutorialService,
+                            final ObjectMapper objectMapper,
+                            @Value("${tutorial.import.chunk-size:1000}") final int chunkSize) {
+        this.tutorialService = tutorialService;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportSummary importTutorials(final InputStream input) throws IOException {
+        final Progress progress = new Progress();
+
+        try (JsonParser parser = objectMapper.createParser(input)) {
+            JsonToken token = parser.nextToken();
+            // an array holds the entries, anything else is a stream of root-level values like NDJSON
+            final boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+
+            while (token != null && token != JsonToken.END_ARRAY) {
+                final JsonNode entry = objectMapper.readTree(parser);
+                final Tutorial tutorial = toTutorial(entry);
+                if (tutorial == null) {
+                    progress.rejected++;
+                } else {
+                    progress.chunk.add(tutorial);
+                    if (progress.chunk.size() == chunkSize) {
+                        write(progress);
+                    }
+                }
+                token = parser.nextToken();
+            }
+
+            if (array && token == null) {
+                throw malformed("Unterminated array", parser.currentLocation(), progress);
+            }
+        } catch (StreamReadException e) {
+            throw malformed(e.getOriginalMessage(), e.getLocation(), progress);
+        }
+
+        if (!progress.chunk.isEmpty()) {
+            write(progress);
+        }
+
+        return new ImportSummary(progress.accepted, progress.rejected, progress.chunks);
+    }
+
+    private Tutorial toTutorial(final JsonNode entry) {
+        if (entry == null || !entry.isObject()) {
+            return null;
+        }
+
+        try {
+            final Tutorial tutorial = objectMapper.treeToValue(entry, Tutorial.class);
+            // an import only ever creates, ids and versions in the input are ignored
+            return new Tutorial(tutorial.getTitle(), tutorial.getDescription(), tutorial.isPublished());
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private void write(final Progress progress) {
+        try {
+            progress.accepted += tutorialService.createTutorials(progress.chunk).size();
+        } catch (RuntimeException e) {
+            // one bad row rolls back the whole chunk, writing the rows one by one fails only that row
+            log.warn("Import chunk of {} tutorials failed, writing them one by one: {}", progress.chunk.size(), e.getMessage());
+            progress.chunk.forEach(tutorial -> writeOne(tutorial, progress));
+        }
+        progress.chunks++;
+        progress.chunk.clear();
+    }
+
+    private void writeOne(final Tutorial tutorial, final Progress progress) {
+        try {
+            tutorialService.createTutorial(new Tutorial(tutorial.getTitle(), tutorial.getDescription(), tutorial.isPublished()));
+            progress.accepted++;
+        } catch (RuntimeException e) {
+            progress.rejected++;
+        }
+    }
+
+    // chunks written before the syntax error stay committed, the message says how far the import got
+    private static BadRequestException malformed(final String reason, final JsonLocation location, final Progress progress) {
+        return new BadRequestException("Malformed import at line " + location.getLineNr() + ", column " + location.getColumnNr()
+                + " (" + reason + ") after " + progress.accepted + " tutorials were imported");
+    }
+
+    private final class Progress {
+
+        private final List<Tutorial> chunk = new ArrayList<>(chunkSize);
+        private long accepted;
+        private long rejected;
+        private int chunks;
+    }
+}
@@ -0,0 +1,170 @@
+package com.zoola.tutorial.ingest;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zoola.tutorial.exception.TooManyRequestsException;
+import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.model.WriteStatus;
+import com.zoola.tutorial.service.TutorialService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Accepted tutorials wait in a bounded queue, one writer thread inserts them in batches of one transaction each
+@Component
+@ConditionalOnProperty(name = "tutorial.write-behind.enabled", havingValue = "true")
+@Slf4j
+public class TutorialWriteBehindQueue implements SmartLifecycle {
+
+    private static final long POLL_MILLIS = 100L;
+
+    private final TutorialService tutorialService;
+    private final BlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final Duration drainTimeout;
+    private final Cache<String, WriteStatus> statuses;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public TutorialWriteBehindQueue(final TutorialService tutorialService,
+                                    final MeterRegistry meterRegistry,
+                                    @Value("${tutorial.write-behind.capacity:10000}") final int capacity,
+                                    @Value("${tutorial.write-behind.batch-size:500}") final int batchSize,
+                                    @Value("${tutorial.write-behind.drain-timeout:30s}") final Duration drainTimeout,
+                                    @Value("${tutorial.write-behind.status-retention:1h}") final Duration statusRetention) {
+        this.tutorialService = tutorialService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.drainTimeout = drainTimeout;
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(capacity * 10L)
+                .expireAfterWrite(statusRetention)
+                .build();
+
+        Gauge.builder("tutorial.write_behind.queued", queue, BlockingQueue::size)
+                .description("Tutorials accepted but not yet written")
+                .register(meterRegistry);
+    }
+
+    public WriteStatus submit(final Tutorial tutorial) {
+        if (!running) {
+            throw new TooManyRequestsException("Not accepting writes while shutting down", 1);
+        }
+
+        final WriteStatus status = WriteStatus.queued(UUID.randomUUID().toString());
+        statuses.put(status.trackingId(), status);
+
+        if (!queue.offer(new Pending(status.trackingId(), tutorial))) {
+            statuses.invalidate(status.trackingId());
+            throw new TooManyRequestsException("Write queue is full", 1);
+        }
+
+        return status;
+    }
+
+    public Optional<WriteStatus> status(final String trackingId) {
+        return Optional.ofNullable(statuses.getIfPresent(trackingId));
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::drain, "tutorial-write-behind");
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+
+        try {
+            writer.join(drainTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (writer.isAlive()) {
+            log.warn("Stopped waiting for the write-behind queue after {} with {} tutorials unwritten", drainTimeout, queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // started before and stopped after the web server, so requests that were accepted are drained on shutdown
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        final List<Pending> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                final Pending first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(final List<Pending> batch) {
+        try {
+            final List<Tutorial> saved = tutorialService.createTutorials(batch.stream().map(Pending::copy).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                statuses.put(batch.get(i).trackingId(), WriteStatus.completed(batch.get(i).trackingId(), saved.get(i).getId()));
+            }
+        } catch (RuntimeException e) {
+            // one bad row rolls back the whole batch, writing the rows one by one fails only that row
+            batch.forEach(this::writeOne);
+        }
+    }
+
+    private void writeOne(final Pending pending) {
+        try {
+            final Tutorial saved = tutorialService.createTutorial(pending.copy());
+            statuses.put(pending.trackingId(), WriteStatus.completed(pending.trackingId(), saved.getId()));
+        } catch (RuntimeException e) {
+            statuses.put(pending.trackingId(), WriteStatus.failed(pending.trackingId(), e.getMessage()));
+        }
+    }
+
+    private record Pending(String trackingId, Tutorial tutorial) {
+
+        // a rolled back insert leaves its id on the instance, a fresh copy is inserted as new
+        Tutorial copy() {
+            return new Tutorial(tutorial.getTitle(), tutorial.getDescription(), tutorial.isPublished());
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.zoola.tutorial.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a bulk update")
+public record BulkUpdateResult(
+        @Schema(description = "Number of tutorials changed by the update", example = "42")
+        int updated
+) {
+}
@@ -0,0 +1,47 @@
+package com.zoola.tutorial.model;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+// Order-independent digest of the (id, version) pairs. Each pair is mixed into 64 bits before summing, so a delete
+// and an update can no longer cancel out the way a plain count/max(id)/sum(version) did; a digest can still
+// collide in theory, so the entity tag is weak.
+public record CollectionVersion(long count, long digest) {
+
+    public static CollectionVersion of(final List<Tutorial> tutorials) {
+        return of(tutorials, tutorial -> orZero(tutorial.getId()), tutorial -> orZero(tutorial.getVersion()));
+    }
+
+    public static CollectionVersion ofVersions(final List<TutorialVersion> versions) {
+        return of(versions, row -> orZero(row.id()), row -> orZero(row.version()));
+    }
+
+    public static <T> CollectionVersion of(final List<T> rows, final ToLongFunction<T> id, final ToLongFunction<T> version) {
+        long digest = 0L;
+        for (T row : rows) {
+            digest += mix(id.applyAsLong(row), version.applyAsLong(row));
+        }
+        return new CollectionVersion(rows.size(), digest);
+    }
+
+    public String value() {
+        return count + "-" + Long.toHexString(digest);
+    }
+
+    // the tag of the JSON representation
+    public String etag() {
+        return "W/\"" + value() + "\"";
+    }
+
+    private static long orZero(final Long value) {
+        return value == null ? 0L : value;
+    }
+
+    // SplitMix64 finalizer over the pair
+    private static long mix(final long id, final long version) {
+        long z = id * 0x9E3779B97F4A7C15L + version;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,16 @@
+package com.zoola.tutorial.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a tutorial import")
+public record ImportSummary(
+        @Schema(description = "Number of tutorials written", example = "9998")
+        long accepted,
+
+        @Schema(description = "Number of entries that were not tutorials or could not be written", example = "2")
+        long rejected,
+
+        @Schema(description = "Number of chunks committed", example = "10")
+        int chunks
+) {
+}
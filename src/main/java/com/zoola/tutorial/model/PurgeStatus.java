@@ -0,0 +1,45 @@
+package com.zoola.tutorial.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Progress of a purge job")
+public record PurgeStatus(
+        @Schema(description = "Job id returned when the purge was started", example = "6f1c2a4e-8a55-4f0e-9a3b-3f5f1f8c9d21")
+        String jobId,
+
+        @Schema(description = "Whether the purge is running, being cancelled or has finished")
+        State state,
+
+        @Schema(description = "Number of tutorials deleted so far", example = "120000")
+        long deleted,
+
+        @Schema(description = "Number of id ranges processed so far", example = "120")
+        long chunksDone,
+
+        @Schema(description = "Number of id ranges the purge covers", example = "1000")
+        long chunksTotal,
+
+        @Schema(description = "When the purge was started")
+        Instant startedAt,
+
+        @Schema(description = "When the purge finished")
+        Instant finishedAt,
+
+        @Schema(description = "Reason the purge failed")
+        String error
+) {
+
+    public enum State {
+        RUNNING,
+        CANCELLING,
+        COMPLETED,
+        CANCELLED,
+        FAILED;
+
+        public boolean isActive() {
+            return this == RUNNING || this == CANCELLING;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.zoola.tutorial.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+// The tutorials row as Spring Data R2DBC maps it; Tutorial stays a plain JPA entity, Spring Data JPA refuses an
+// entity whose version carries the Spring Data annotation
+@AllArgsConstructor
+@Data
+@NoArgsConstructor
+@Table("tutorials")
+public class ReactiveTutorial {
+
+    @Id
+    private Long id;
+
+    private String title;
+
+    private String description;
+
+    private boolean published;
+
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    public ReactiveTutorial(String title, String description, boolean published) {
+        this.title = title;
+        this.description = description;
+        this.published = published;
+    }
+
+    public ReactiveTutorial(Long id, String title, String description, boolean published) {
+        this(id, title, description, published, null);
+    }
+}
@@ -0,0 +1,6 @@
+package com.zoola.tutorial.model;
+
+// Ids only grow and versions only go up, so over the whole table the row count, highest id and version sum
+// cannot all stay the same across a write: a delete lowers the count, an insert past it raises the highest id
+public record TableVersion(Long count, Long maxId, Long versionSum) {
+}
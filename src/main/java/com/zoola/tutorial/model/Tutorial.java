@@ -1,5 +1,6 @@
 package com.zoola.tutorial.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.*;
@@ -9,11 +10,15 @@ import lombok.*;
 @Entity
 @NoArgsConstructor
 @Schema(description = "Tutorial model")
-@Table(name = "tutorials")
+@Table(name = "tutorials", indexes = {
+        @Index(name = "idx_tutorials_published", columnList = "published, id, version"),
+        @Index(name = "idx_tutorials_title", columnList = "title")
+})
 public class Tutorial {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tutorials_seq")
+    @SequenceGenerator(name = "tutorials_seq", sequenceName = "tutorials_seq", allocationSize = 50)
     @Schema(accessMode = Schema.AccessMode.READ_ONLY, description = "Tutorial ID", example = "123")
     private Long id;
 
@@ -29,9 +34,19 @@ public class Tutorial {
     @Schema(description = "Whether or not a Tutorial is published", example = "true")
     private boolean published;
 
+    @Version
+    @Column(name = "version")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(accessMode = Schema.AccessMode.READ_ONLY, description = "Tutorial version, incremented on every update", example = "0")
+    private Long version;
+
     public Tutorial(String title, String description, boolean published) {
         this.title = title;
         this.description = description;
         this.published = published;
     }
+
+    public Tutorial(Long id, String title, String description, boolean published) {
+        this(id, title, description, published, null);
+    }
 }
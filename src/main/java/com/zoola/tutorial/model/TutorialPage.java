@@ -0,0 +1,15 @@
+package com.zoola.tutorial.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Keyset page of tutorials")
+public record TutorialPage(
+        @Schema(description = "Tutorials in this page, ordered by id")
+        List<Tutorial> content,
+
+        @Schema(description = "Cursor of the next page, absent on the last page", example = "MTIz")
+        String next
+) {
+}
@@ -0,0 +1,20 @@
+package com.zoola.tutorial.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Partial tutorial update, absent fields are left unchanged")
+public record TutorialPatch(
+        @Schema(description = "Tutorial title", example = "Spring Boot Tutorial")
+        String title,
+
+        @Schema(description = "Tutorial description", example = "Spring Boot Tutorial Description")
+        String description,
+
+        @Schema(description = "Tutorial published status", example = "true")
+        Boolean published
+) {
+
+    public boolean isEmpty() {
+        return title == null && description == null && published == null;
+    }
+}
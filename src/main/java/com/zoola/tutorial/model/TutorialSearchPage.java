@@ -0,0 +1,21 @@
+package com.zoola.tutorial.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Ranked page of tutorial search results")
+public record TutorialSearchPage(
+        @Schema(description = "Matching tutorials, best match first")
+        List<Tutorial> content,
+
+        @Schema(description = "Zero-based page number", example = "0")
+        int page,
+
+        @Schema(description = "Page size", example = "20")
+        int size,
+
+        @Schema(description = "Total number of matching tutorials", example = "42")
+        long total
+) {
+}
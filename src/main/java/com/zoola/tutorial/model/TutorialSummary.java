@@ -0,0 +1,16 @@
+package com.zoola.tutorial.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Tutorial without its description")
+public record TutorialSummary(
+        @Schema(description = "Tutorial id", example = "123")
+        Long id,
+
+        @Schema(description = "Tutorial title", example = "Spring Boot Tutorial")
+        String title,
+
+        @Schema(description = "Tutorial published status", example = "true")
+        boolean published
+) {
+}
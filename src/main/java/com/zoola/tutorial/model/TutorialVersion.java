@@ -0,0 +1,4 @@
+package com.zoola.tutorial.model;
+
+public record TutorialVersion(Long id, Long version) {
+}
@@ -0,0 +1,37 @@
+package com.zoola.tutorial.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Progress of a tutorial accepted for writing")
+public record WriteStatus(
+        @Schema(description = "Tracking id returned when the tutorial was accepted", example = "6f1c2a4e-8a55-4f0e-9a3b-3f5f1f8c9d21")
+        String trackingId,
+
+        @Schema(description = "Whether the tutorial is still queued, was written or could not be written")
+        State state,
+
+        @Schema(description = "Id of the written tutorial", example = "123")
+        Long tutorialId,
+
+        @Schema(description = "Reason the tutorial could not be written")
+        String error
+) {
+
+    public enum State {
+        QUEUED,
+        COMPLETED,
+        FAILED
+    }
+
+    public static WriteStatus queued(final String trackingId) {
+        return new WriteStatus(trackingId, State.QUEUED, null, null);
+    }
+
+    public static WriteStatus completed(final String trackingId, final Long tutorialId) {
+        return new WriteStatus(trackingId, State.COMPLETED, tutorialId, null);
+    }
+
+    public static WriteStatus failed(final String trackingId, final String error) {
+        return new WriteStatus(trackingId, State.FAILED, null, error);
+    }
+}
@@ -0,0 +1,187 @@
+package com.zoola.tutorial.purge;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zoola.tutorial.model.PurgeStatus;
+import com.zoola.tutorial.ratelimit.TokenBucket;
+import com.zoola.tutorial.repository.TutorialRepository;
+import com.zoola.tutorial.service.TutorialService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+// Deletes the tutorials that existed when the purge started, a few workers claim id ranges and delete each one in its
+// own short transaction; a token bucket caps the rows per second so online requests never queue behind a table lock
+@Component
+@Slf4j
+public class TutorialPurgeJob {
+
+    private final TutorialRepository tutorialRepository;
+    private final TutorialService tutorialService;
+    private final int threads;
+    private final int chunkSize;
+    private final double rowsPerSecond;
+    private final ExecutorService workers;
+    private final Cache<String, Job> jobs;
+    private final AtomicReference<Job> active = new AtomicReference<>();
+
+    public TutorialPurgeJob(final TutorialRepository tutorialRepository,
+                            final TutorialService tutorialService,
+                            @Value("${tutorial.purge.threads:2}") final int threads,
+                            @Value("${tutorial.purge.chunk-size:1000}") final int chunkSize,
+                            @Value("${tutorial.purge.rows-per-second:5000}") final double rowsPerSecond,
+                            @Value("${tutorial.purge.status-retention:1h}") final Duration statusRetention) {
+        this.tutorialRepository = tutorialRepository;
+        this.tutorialService = tutorialService;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+        this.rowsPerSecond = rowsPerSecond;
+
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("tutorial-purge-");
+        threadFactory.setDaemon(true);
+        this.workers = Executors.newFixedThreadPool(threads, threadFactory);
+        this.jobs = Caffeine.newBuilder()
+                .maximumSize(100)
+                .expireAfterWrite(statusRetention)
+                .build();
+    }
+
+    // one purge at a time, starting while one is active returns that one
+    public synchronized PurgeStatus start() {
+        final Job running = active.get();
+        if (running != null && running.status().state().isActive()) {
+            return running.status();
+        }
+
+        final long firstId = tutorialRepository.findMinId().orElse(1L);
+        final long lastId = tutorialRepository.findMaxId().orElse(0L);
+        final Job job = new Job(firstId, lastId);
+        jobs.put(job.id, job);
+        active.set(job);
+
+        log.info("Purge {} deleting tutorials {} to {} in {} chunks", job.id, firstId, lastId, job.chunksTotal);
+
+        final CompletableFuture<?>[] futures = IntStream.range(0, threads)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> work(job), workers))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).whenComplete((result, failure) -> finish(job));
+
+        return job.status();
+    }
+
+    public Optional<PurgeStatus> status(final String jobId) {
+        return job(jobId).map(Job::status);
+    }
+
+    public Optional<PurgeStatus> cancel(final String jobId) {
+        return job(jobId).map(job -> {
+            job.cancelled = true;
+            return job.status();
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        final Job job = active.get();
+        if (job != null) {
+            job.cancelled = true;
+        }
+        workers.shutdown();
+    }
+
+    private Optional<Job> job(final String jobId) {
+        final Job job = active.get();
+        if (job != null && job.id.equals(jobId)) {
+            return Optional.of(job);
+        }
+        return Optional.ofNullable(jobs.getIfPresent(jobId));
+    }
+
+    private void work(final Job job) {
+        try {
+            for (long from = job.nextFrom.getAndAdd(chunkSize); from <= job.lastId && job.proceeding();
+                 from = job.nextFrom.getAndAdd(chunkSize)) {
+                final List<Long> ids = tutorialRepository.findIdsBetween(from, Math.min(from + chunkSize - 1, job.lastId));
+                if (!ids.isEmpty()) {
+                    job.throttle.acquire(ids.size());
+                    // rows deleted by someone else since the ids were read are not this purge's
+                    job.deleted.addAndGet(tutorialService.deleteTutorials(ids));
+                }
+                job.chunksDone.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.cancelled = true;
+        } catch (RuntimeException e) {
+            log.warn("Purge {} failed, stopping its other workers", job.id, e);
+            job.failure.compareAndSet(null, e);
+        }
+    }
+
+    private void finish(final Job job) {
+        job.finishedAt = Instant.now();
+        jobs.put(job.id, job);
+
+        final PurgeStatus status = job.status();
+        log.info("Purge {} {} after deleting {} tutorials in {} of {} chunks",
+                job.id, status.state(), status.deleted(), status.chunksDone(), status.chunksTotal());
+    }
+
+    private final class Job {
+
+        private final String id = UUID.randomUUID().toString();
+        private final long lastId;
+        private final long chunksTotal;
+        private final AtomicLong nextFrom;
+        private final AtomicLong deleted = new AtomicLong();
+        private final AtomicLong chunksDone = new AtomicLong();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        // the burst is one chunk, so a chunk's rows can always be acquired at once
+        private final TokenBucket throttle = new TokenBucket(rowsPerSecond, chunkSize);
+        private final Instant startedAt = Instant.now();
+        private volatile Instant finishedAt;
+        private volatile boolean cancelled;
+
+        private Job(final long firstId, final long lastId) {
+            this.lastId = lastId;
+            this.chunksTotal = lastId < firstId ? 0 : (lastId - firstId) / chunkSize + 1;
+            this.nextFrom = new AtomicLong(firstId);
+        }
+
+        private boolean proceeding() {
+            return !cancelled && failure.get() == null;
+        }
+
+        private PurgeStatus status() {
+            final long done = chunksDone.get();
+            final PurgeStatus.State state;
+            if (finishedAt == null) {
+                state = proceeding() ? PurgeStatus.State.RUNNING : PurgeStatus.State.CANCELLING;
+            } else if (failure.get() != null) {
+                state = PurgeStatus.State.FAILED;
+            } else if (done == chunksTotal) {
+                state = PurgeStatus.State.COMPLETED;
+            } else {
+                state = PurgeStatus.State.CANCELLED;
+            }
+
+            final RuntimeException error = failure.get();
+            return new PurgeStatus(id, state, deleted.get(), done, chunksTotal, startedAt, finishedAt,
+                    error == null ? null : error.getMessage());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.zoola.tutorial.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+// Generic cell rate algorithm: the whole bucket is one timestamp, the time at which it would be empty again,
+// so acquiring is a single compare-and-set with no lock and no refill thread
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier clock;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(final double permitsPerSecond, final int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(final double permitsPerSecond, final int burst, final LongSupplier clock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("A token bucket needs a positive rate and a burst of at least one");
+        }
+
+        this.emissionIntervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.clock = clock;
+        this.theoreticalArrival = new AtomicLong(clock.getAsLong());
+    }
+
+    // 0 when the permits were taken, otherwise the nanoseconds until they could be
+    public long tryAcquire(final int permits) {
+        final long increment = emissionIntervalNanos * permits;
+
+        while (true) {
+            final long now = clock.getAsLong();
+            final long current = theoreticalArrival.get();
+            final long next = Math.max(current, now) + increment;
+
+            final long wait = next - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    public long tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    public void acquire(final int permits) throws InterruptedException {
+        for (long wait = tryAcquire(permits); wait > 0; wait = tryAcquire(permits)) {
+            LockSupport.parkNanos(this, wait);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    public double availablePermits() {
+        final long headroom = burstToleranceNanos - Math.max(0L, theoreticalArrival.get() - clock.getAsLong());
+        return (double) headroom / emissionIntervalNanos;
+    }
+}
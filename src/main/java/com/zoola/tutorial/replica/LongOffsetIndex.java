@@ -0,0 +1,123 @@
+package com.zoola.tutorial.replica;
+
+import java.util.Arrays;
+
+// Open addressing map from id to file offset, two primitive arrays instead of a boxed entry per tutorial
+final class LongOffsetIndex {
+
+    static final long MISSING = -1L;
+
+    private long[] keys;
+    private long[] offsets;
+    private int mask;
+    private int size;
+
+    LongOffsetIndex(final int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    long get(final long key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            if (offsets[slot] == MISSING) {
+                return MISSING;
+            }
+            if (keys[slot] == key) {
+                return offsets[slot];
+            }
+        }
+    }
+
+    void put(final long key, final long offset) {
+        if ((size + 1) * 2L > offsets.length) {
+            resize(offsets.length * 2);
+        }
+
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            if (offsets[slot] == MISSING) {
+                keys[slot] = key;
+                offsets[slot] = offset;
+                size++;
+                return;
+            }
+            if (keys[slot] == key) {
+                offsets[slot] = offset;
+                return;
+            }
+        }
+    }
+
+    void remove(final long key) {
+        int hole = slot(key);
+        while (offsets[hole] != MISSING && keys[hole] != key) {
+            hole = (hole + 1) & mask;
+        }
+        if (offsets[hole] == MISSING) {
+            return;
+        }
+
+        // shift later entries of the probe run back so lookups never stop at the removed slot
+        for (int next = (hole + 1) & mask; offsets[next] != MISSING; next = (next + 1) & mask) {
+            final int home = slot(keys[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                offsets[hole] = offsets[next];
+                hole = next;
+            }
+        }
+
+        offsets[hole] = MISSING;
+        size--;
+    }
+
+    void clear() {
+        Arrays.fill(offsets, MISSING);
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(final EntryConsumer consumer) {
+        for (int slot = 0; slot < offsets.length; slot++) {
+            if (offsets[slot] != MISSING) {
+                consumer.accept(keys[slot], offsets[slot]);
+            }
+        }
+    }
+
+    private void resize(final int capacity) {
+        final long[] oldKeys = keys;
+        final long[] oldOffsets = offsets;
+
+        allocate(capacity);
+        size = 0;
+        for (int slot = 0; slot < oldOffsets.length; slot++) {
+            if (oldOffsets[slot] != MISSING) {
+                put(oldKeys[slot], oldOffsets[slot]);
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        offsets = new long[capacity];
+        mask = capacity - 1;
+        Arrays.fill(offsets, MISSING);
+    }
+
+    private int slot(final long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private static int capacityFor(final int expectedSize) {
+        final int capacity = Integer.highestOneBit(Math.max(expectedSize * 2, 16) - 1) << 1;
+        return Math.max(capacity, 16);
+    }
+
+    @FunctionalInterface
+    interface EntryConsumer {
+
+        void accept(long key, long offset);
+    }
+}
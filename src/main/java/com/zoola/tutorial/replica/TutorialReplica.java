@@ -0,0 +1,557 @@
+package com.zoola.tutorial.replica;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoola.tutorial.changes.TutorialChangedEvent;
+import com.zoola.tutorial.model.CollectionVersion;
+import com.zoola.tutorial.model.TableVersion;
+import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.repository.TutorialRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Append-only log of pre-serialized tutorials in a memory-mapped file. Reads copy the JSON straight out of the
+// mapping, writes append a new record and repoint the id, and a full file is compacted into a new one. A write never
+// replaces a newer version of the same tutorial, and a delete leaves a tombstone no version can replace, so late
+// events and rebuild batches can be applied in any order.
+//
+// file:   magic (int) | format (int) | end of the last complete record (long) | records...
+// record: length (int) | id (long) | version (long) | flags (byte) | JSON
+@Component
+@ConditionalOnProperty(name = "tutorial.replica.enabled", havingValue = "true")
+@Slf4j
+public class TutorialReplica {
+
+    private static final int MAGIC = 0x54555452;
+    private static final int FORMAT = 2;
+    private static final int END_POSITION = 8;
+    private static final int HEADER_SIZE = 16;
+
+    private static final int ID_POSITION = 4;
+    private static final int VERSION_POSITION = 12;
+    private static final int FLAGS_POSITION = 20;
+    private static final int RECORD_HEADER_SIZE = 21;
+
+    private static final byte PUBLISHED = 1;
+    private static final byte DELETED = 2;
+    private static final long TOMBSTONE_VERSION = Long.MAX_VALUE;
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final TutorialRepository tutorialRepository;
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final Path rebuildPath;
+    private final int capacity;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "tutorial-replica-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // guarded by the lock; pending collects the writes made while a rebuild runs
+    private Store store;
+    private List<Change> pending;
+    private long requestedRebuild;
+    private boolean rebuilding;
+
+    private volatile boolean ready;
+    private volatile Published published;
+
+    public TutorialReplica(final TutorialRepository tutorialRepository,
+                           final ObjectMapper objectMapper,
+                           @Value("${tutorial.replica.path:${java.io.tmpdir}/tutorial-replica.dat}") final Path path,
+                           @Value("${tutorial.replica.size:64MB}") final DataSize size) {
+        this.tutorialRepository = tutorialRepository;
+        this.objectMapper = objectMapper;
+        this.path = path;
+        this.rebuildPath = path.resolveSibling(path.getFileName() + ".rebuild");
+        this.capacity = Math.toIntExact(size.toBytes());
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        final Store opened = Store.open(path, capacity, false);
+        lock.writeLock().lock();
+        try {
+            store = opened;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // every write moves the table version, so a file that matches it holds exactly the rows of the database
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        final TableVersion expected = tutorialRepository.findTableVersion();
+
+        lock.writeLock().lock();
+        try {
+            if (!store.tableVersion().equals(expected)) {
+                log.info("Tutorial replica at {} is out of date, rebuilding it", path);
+                rebuild();
+            } else if (!rebuilding) {
+                ready = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTutorialChanged(final TutorialChangedEvent event) {
+        try {
+            switch (event.type()) {
+                case CREATED, UPDATED -> tutorialRepository.findAllById(event.ids()).forEach(this::write);
+                case DELETED -> event.ids().forEach(this::delete);
+                case CLEARED -> clear();
+                case INVALIDATED -> rebuild();
+            }
+        } catch (RuntimeException e) {
+            // serve from the database until the rebuild is in rather than serve stale rows
+            log.warn("Could not apply {} to the tutorial replica, rebuilding it", event, e);
+            rebuild();
+        }
+    }
+
+    // Returns at once: the replica stops serving, and a background thread builds a new file next to the live one
+    // and swaps it in. Requests made while a rebuild runs are folded into one more rebuild after it.
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            requestedRebuild++;
+            if (!rebuilding) {
+                rebuilding = true;
+                rebuilder.execute(this::runRebuilds);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return store.live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Entry get(final long id) {
+        lock.readLock().lock();
+        try {
+            return store.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Published published() {
+        final Published cached = published;
+        if (cached != null) {
+            return cached;
+        }
+
+        lock.readLock().lock();
+        try {
+            final List<Entry> entries = new ArrayList<>();
+            store.forEachLive(offset -> {
+                if ((store.buffer.get(offset + FLAGS_POSITION) & PUBLISHED) != 0) {
+                    entries.add(store.read(offset));
+                }
+            });
+            entries.sort(Comparator.comparingLong(Entry::id));
+
+            final ByteArrayOutputStream json = new ByteArrayOutputStream();
+            json.write('[');
+            for (Entry entry : entries) {
+                if (json.size() > 1) {
+                    json.write(',');
+                }
+                json.writeBytes(entry.json());
+            }
+            json.write(']');
+
+            final Published result = new Published(
+                    json.toByteArray(), entries.size(), CollectionVersion.of(entries, Entry::id, Entry::version).etag());
+            published = result;
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        rebuilder.shutdownNow();
+
+        lock.writeLock().lock();
+        try {
+            store.buffer.force();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void runRebuilds() {
+        while (true) {
+            final long generation;
+            lock.writeLock().lock();
+            try {
+                generation = requestedRebuild;
+                pending = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Store next = null;
+            try {
+                next = build();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not rebuild the tutorial replica at {}, serving from the database", path, e);
+            }
+
+            lock.writeLock().lock();
+            try {
+                if (next == null) {
+                    pending = null;
+                    rebuilding = false;
+                    return;
+                }
+
+                pending.forEach(next::append);
+                pending = null;
+                next.buffer.force();
+                next.moveTo(path);
+                store = next;
+                published = null;
+
+                if (generation == requestedRebuild) {
+                    ready = true;
+                    rebuilding = false;
+                    return;
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not swap in the rebuilt tutorial replica at {}, serving from the database", path, e);
+                pending = null;
+                rebuilding = false;
+                return;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // only the rebuild thread touches the new store until it is swapped in
+    private Store build() throws IOException {
+        final Store next = Store.open(rebuildPath, capacity, true);
+
+        long afterId = 0L;
+        List<Tutorial> tutorials;
+        do {
+            tutorials = tutorialRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(REBUILD_BATCH_SIZE));
+            tutorials.forEach(tutorial -> next.append(change(tutorial)));
+            if (!tutorials.isEmpty()) {
+                afterId = tutorials.get(tutorials.size() - 1).getId();
+            }
+        } while (tutorials.size() == REBUILD_BATCH_SIZE);
+
+        return next;
+    }
+
+    private void write(final Tutorial tutorial) {
+        apply(change(tutorial));
+    }
+
+    private void delete(final long id) {
+        apply(new Change(id, TOMBSTONE_VERSION, DELETED, new byte[0]));
+    }
+
+    private void apply(final Change change) {
+        lock.writeLock().lock();
+        try {
+            store.append(change);
+            if (pending != null) {
+                pending.add(change);
+            }
+            published = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // a rebuild that read rows before the clear would bring them back, so it has to run again
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            store.reset();
+            published = null;
+            if (rebuilding) {
+                rebuild();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Change change(final Tutorial tutorial) {
+        final byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(tutorial);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final long version = tutorial.getVersion() == null ? 0L : tutorial.getVersion();
+        return new Change(tutorial.getId(), version, tutorial.isPublished() ? PUBLISHED : 0, json);
+    }
+
+    public record Entry(long id, long version, boolean published, byte[] json) {
+    }
+
+    public record Published(byte[] json, int count, String etag) {
+    }
+
+    private record Change(long id, long version, byte flags, byte[] json) {
+    }
+
+    // One mapped file and its index; not thread-safe, the replica guards it with its lock
+    private static final class Store {
+
+        private Path path;
+        private final int capacity;
+        private MappedByteBuffer buffer;
+        private final LongOffsetIndex index = new LongOffsetIndex(1024);
+        private int end;
+        private int live;
+
+        private Store(final Path path, final int capacity, final MappedByteBuffer buffer) {
+            this.path = path;
+            this.capacity = capacity;
+            this.buffer = buffer;
+        }
+
+        static Store open(final Path path, final int capacity, final boolean empty) throws IOException {
+            final MappedByteBuffer buffer = map(path, capacity);
+
+            final Store store = new Store(path, capacity, buffer);
+            if (!empty && buffer.getInt(0) == MAGIC && buffer.getInt(4) == FORMAT) {
+                store.load();
+            } else {
+                store.reset();
+            }
+            return store;
+        }
+
+        // the mapping stays valid across the move, later compactions replace the file at its new path
+        void moveTo(final Path target) throws IOException {
+            Files.move(path, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            path = target;
+        }
+
+        Entry get(final long id) {
+            final long offset = index.get(id);
+            return offset == LongOffsetIndex.MISSING || isTombstone((int) offset) ? null : read((int) offset);
+        }
+
+        void forEachLive(final OffsetConsumer consumer) {
+            index.forEach((id, offset) -> {
+                if (!isTombstone((int) offset)) {
+                    consumer.accept((int) offset);
+                }
+            });
+        }
+
+        TableVersion tableVersion() {
+            final long[] maxIdAndSum = new long[2];
+            forEachLive(offset -> {
+                maxIdAndSum[0] = Math.max(maxIdAndSum[0], buffer.getLong(offset + ID_POSITION));
+                maxIdAndSum[1] += buffer.getLong(offset + VERSION_POSITION);
+            });
+            return new TableVersion((long) live, maxIdAndSum[0], maxIdAndSum[1]);
+        }
+
+        void append(final Change change) {
+            final long existing = index.get(change.id());
+            if (existing != LongOffsetIndex.MISSING && buffer.getLong((int) existing + VERSION_POSITION) >= change.version()) {
+                // a late event or a stale rebuild batch: this version or a newer one is already here
+                return;
+            }
+            final boolean replacesLive = existing != LongOffsetIndex.MISSING && !isTombstone((int) existing);
+
+            final int length = RECORD_HEADER_SIZE + change.json().length;
+            if (end + length > capacity) {
+                compact();
+            }
+            if (end + length > capacity) {
+                throw new IllegalStateException("Tutorial replica at " + path + " is full, increase tutorial.replica.size");
+            }
+
+            buffer.putInt(end, length);
+            buffer.putLong(end + ID_POSITION, change.id());
+            buffer.putLong(end + VERSION_POSITION, change.version());
+            buffer.put(end + FLAGS_POSITION, change.flags());
+            buffer.put(end + RECORD_HEADER_SIZE, change.json());
+            index.put(change.id(), end);
+            live += ((change.flags() & DELETED) != 0 ? 0 : 1) - (replacesLive ? 1 : 0);
+
+            end += length;
+            // a record only counts once the end moves past it, so a crash mid-write loses nothing that was there
+            buffer.putLong(END_POSITION, end);
+        }
+
+        // Copies the live records into a new file and moves it over this one, so a crash leaves either the old file or
+        // the compacted one, never a mix. Tombstones only have to outlive the events and rebuild batches already in
+        // flight, so they are dropped here.
+        private void compact() {
+            final List<long[]> kept = new ArrayList<>(index.size());
+            final List<Long> tombstones = new ArrayList<>();
+            index.forEach((id, offset) -> {
+                if (isTombstone((int) offset)) {
+                    tombstones.add(id);
+                } else {
+                    kept.add(new long[]{offset, id});
+                }
+            });
+
+            final Path compactPath = path.resolveSibling(path.getFileName() + ".compact");
+            final MappedByteBuffer compacted;
+            try {
+                Files.deleteIfExists(compactPath);
+                compacted = map(compactPath, capacity);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            compacted.putInt(0, MAGIC);
+            compacted.putInt(4, FORMAT);
+
+            int position = HEADER_SIZE;
+            for (long[] entry : kept) {
+                final int offset = (int) entry[0];
+                final byte[] record = new byte[buffer.getInt(offset)];
+                buffer.get(offset, record);
+                compacted.put(position, record);
+                entry[0] = position;
+                position += record.length;
+            }
+            compacted.putLong(END_POSITION, position);
+            compacted.force();
+
+            try {
+                Files.move(compactPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            // nothing in memory changes until the compacted file is in place
+            tombstones.forEach(index::remove);
+            kept.forEach(entry -> index.put(entry[1], entry[0]));
+            buffer = compacted;
+            end = position;
+        }
+
+        private void load() {
+            index.clear();
+
+            final long recorded = buffer.getLong(END_POSITION);
+            if (recorded < HEADER_SIZE || recorded > capacity) {
+                reset();
+                return;
+            }
+
+            // writes were checked against the version when they were appended, so the last record of an id wins
+            int position = HEADER_SIZE;
+            while (position < recorded) {
+                final int length = buffer.getInt(position);
+                // a damaged file is dropped, start() then finds it behind the database and rebuilds it
+                if (length < RECORD_HEADER_SIZE || length > recorded - position) {
+                    log.warn("Tutorial replica at {} has a record of length {} at {}, discarding it", path, length, position);
+                    reset();
+                    return;
+                }
+                index.put(buffer.getLong(position + ID_POSITION), position);
+                position += length;
+            }
+
+            end = position;
+            live = 0;
+            forEachLive(offset -> live++);
+        }
+
+        void reset() {
+            index.clear();
+            end = HEADER_SIZE;
+            live = 0;
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, FORMAT);
+            buffer.putLong(END_POSITION, end);
+        }
+
+        Entry read(final int offset) {
+            final int length = buffer.getInt(offset);
+            final byte[] json = new byte[length - RECORD_HEADER_SIZE];
+            buffer.get(offset + RECORD_HEADER_SIZE, json);
+
+            return new Entry(
+                    buffer.getLong(offset + ID_POSITION),
+                    buffer.getLong(offset + VERSION_POSITION),
+                    (buffer.get(offset + FLAGS_POSITION) & PUBLISHED) != 0,
+                    json);
+        }
+
+        private boolean isTombstone(final int offset) {
+            return (buffer.get(offset + FLAGS_POSITION) & DELETED) != 0;
+        }
+
+        private static MappedByteBuffer map(final Path path, final int capacity) throws IOException {
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface OffsetConsumer {
+        void accept(int offset);
+    }
+}
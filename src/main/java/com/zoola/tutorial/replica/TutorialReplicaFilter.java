@@ -0,0 +1,125 @@
+package com.zoola.tutorial.replica;
+
+import com.zoola.tutorial.controller.TutorialController;
+import com.zoola.tutorial.web.Endpoints;
+import com.zoola.tutorial.web.RateLimitInterceptor;
+import com.zoola.tutorial.web.Representations;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Answers hot reads from the replica before they reach the dispatcher, anything it cannot answer
+// (a miss, a cross-origin request, a replica still rebuilding, a client that does not take JSON) carries on to
+// TutorialController. Running ahead of Spring MVC it skips the handler interceptors: the rate limit is applied here
+// under the handler keys the interceptor would use, while the bulkhead and connection limit, which only ration
+// database connections, do not apply to reads that never take one.
+@Component
+@ConditionalOnProperty(name = "tutorial.replica.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class TutorialReplicaFilter extends OncePerRequestFilter {
+
+    private static final Pattern TUTORIAL_BY_ID = Pattern.compile("/api/tutorials/(\\d{1,18})");
+    private static final String PUBLISHED_TUTORIALS = "/api/tutorials/published";
+
+    static final String TUTORIAL_BY_ID_ENDPOINT = Endpoints.of(TutorialController.class, "getTutorialById");
+    static final String PUBLISHED_TUTORIALS_ENDPOINT = Endpoints.of(TutorialController.class, "findByPublished");
+
+    private static final List<MediaType> BINARY_FORMATS =
+            List.of(MediaType.APPLICATION_CBOR, Representations.SMILE);
+
+    private final TutorialReplica replica;
+    private final ObjectProvider<RateLimitInterceptor> rateLimitInterceptor;
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || request.getHeader(HttpHeaders.ORIGIN) != null
+                || !replica.isReady()
+                || !acceptsJson(request);
+    }
+
+    // the replica only holds JSON, any other format is negotiated by TutorialController
+    private static boolean acceptsJson(final HttpServletRequest request) {
+        final String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return true;
+        }
+        try {
+            final List<MediaType> types = MediaType.parseMediaTypes(accept);
+            return types.stream().anyMatch(type -> type.isCompatibleWith(MediaType.APPLICATION_JSON))
+                    && types.stream().noneMatch(type -> BINARY_FORMATS.stream().anyMatch(type::equalsTypeAndSubtype));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        final ServletWebRequest webRequest = new ServletWebRequest(request, response);
+
+        if (PUBLISHED_TUTORIALS.equals(path)) {
+            if (!admit(request, response, PUBLISHED_TUTORIALS_ENDPOINT)) {
+                return;
+            }
+
+            final TutorialReplica.Published published = replica.published();
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            if (published.count() == 0) {
+                response.setStatus(HttpStatus.NO_CONTENT.value());
+            } else if (!webRequest.checkNotModified(published.etag())) {
+                write(response, published.json());
+            }
+            return;
+        }
+
+        final Matcher matcher = TUTORIAL_BY_ID.matcher(path);
+        if (matcher.matches()) {
+            final TutorialReplica.Entry entry = replica.get(Long.parseLong(matcher.group(1)));
+            if (entry != null) {
+                if (!admit(request, response, TUTORIAL_BY_ID_ENDPOINT)) {
+                    return;
+                }
+
+                // checkNotModified also sets the ETag header of a full response
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                if (!webRequest.checkNotModified(Representations.etag(Long.toString(entry.version()), null))) {
+                    write(response, entry.json());
+                }
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean admit(final HttpServletRequest request, final HttpServletResponse response, final String endpoint) {
+        final RateLimitInterceptor limiter = rateLimitInterceptor.getIfAvailable();
+        return limiter == null || limiter.admit(request, response, endpoint);
+    }
+
+    private static void write(final HttpServletResponse response, final byte[] json) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(json.length);
+        response.getOutputStream().write(json);
+    }
+}
@@ -0,0 +1,15 @@
+package com.zoola.tutorial.repository;
+
+import com.zoola.tutorial.model.ReactiveTutorial;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Profile("reactive")
+@Repository
+public interface ReactiveTutorialRepository extends ReactiveCrudRepository<ReactiveTutorial, Long> {
+
+    Flux<ReactiveTutorial> findByPublished(boolean published);
+    Flux<ReactiveTutorial> findByTitleContaining(String title);
+}
@@ -1,14 +1,80 @@
 package com.zoola.tutorial.repository;
 
+import com.zoola.tutorial.model.CollectionVersion;
+import com.zoola.tutorial.model.TableVersion;
 import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.model.TutorialVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TutorialRepository extends JpaRepository<Tutorial, Long> {
+public interface TutorialRepository extends JpaRepository<Tutorial, Long>, TutorialRepositoryCustom {
 
     List<Tutorial> findByPublished(boolean published);
     List<Tutorial> findByTitleContaining(String title);
+
+    List<Tutorial> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+    List<Tutorial> findByTitleContainingAndIdGreaterThanOrderByIdAsc(String title, long id, Limit limit);
+
+    @Query("select t from Tutorial t order by t.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Tutorial> streamAllByOrderByIdAsc();
+
+    @Query("select t.version from Tutorial t where t.id = :id")
+    Optional<Long> findVersionById(long id);
+
+    @Query("select min(t.id) from Tutorial t")
+    Optional<Long> findMinId();
+
+    @Query("select max(t.id) from Tutorial t")
+    Optional<Long> findMaxId();
+
+    @Query("select t.id from Tutorial t where t.id between :from and :to")
+    List<Long> findIdsBetween(long from, long to);
+
+    @Query("select new com.zoola.tutorial.model.TutorialVersion(t.id, t.version) from Tutorial t where t.published = true")
+    List<TutorialVersion> findPublishedVersions();
+
+    default CollectionVersion findPublishedVersion() {
+        return CollectionVersion.ofVersions(findPublishedVersions());
+    }
+
+    @Query("select new com.zoola.tutorial.model.TableVersion(count(t), coalesce(max(t.id), 0L), coalesce(sum(t.version), 0L)) from Tutorial t")
+    TableVersion findTableVersion();
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Tutorial t set t.title = coalesce(:title, t.title), t.description = coalesce(:description, t.description), " +
+            "t.published = coalesce(:published, t.published), t.version = t.version + 1 where t.id = :id")
+    int patchById(long id, String title, String description, Boolean published);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Tutorial t set t.published = :published, t.version = t.version + 1 where t.id in :ids and t.published <> :published")
+    int updatePublishedByIdIn(Collection<Long> ids, boolean published);
+
+    // the title is escaped like the derived and criteria title filters, a % or _ in it matches only itself
+    @Modifying(clearAutomatically = true)
+    @Query("update Tutorial t set t.published = :published, t.version = t.version + 1 " +
+            "where t.title like %:#{escape([0])}% escape :#{escapeCharacter()} and t.published <> :published")
+    int updatePublishedByTitleContaining(String title, boolean published);
+
+    // the count is the rows this statement removed, ids someone else deleted first are not in it
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Tutorial t where t.id in :ids")
+    int deleteByIdIn(Collection<Long> ids);
 }
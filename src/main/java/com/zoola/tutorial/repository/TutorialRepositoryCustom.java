@@ -0,0 +1,14 @@
+package com.zoola.tutorial.repository;
+
+import com.zoola.tutorial.model.TutorialSummary;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface TutorialRepositoryCustom {
+
+    List<TutorialSummary> findSummaries(String title, Boolean published);
+
+    List<Map<String, Object>> findFields(Collection<String> fields, String title, Boolean published);
+}
@@ -0,0 +1,77 @@
+package com.zoola.tutorial.repository;
+
+import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.model.TutorialSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Projections select plain values, so no entity is hydrated or snapshotted for dirty checking
+@RequiredArgsConstructor
+class TutorialRepositoryCustomImpl implements TutorialRepositoryCustom {
+
+    private static final EscapeCharacter ESCAPE = EscapeCharacter.DEFAULT;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<TutorialSummary> findSummaries(final String title, final Boolean published) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<TutorialSummary> query = cb.createQuery(TutorialSummary.class);
+        final Root<Tutorial> root = query.from(Tutorial.class);
+
+        query.select(cb.construct(TutorialSummary.class, root.get("id"), root.get("title"), root.get("published")))
+                .where(filter(cb, root, title, published))
+                .orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<Map<String, Object>> findFields(final Collection<String> fields, final String title, final Boolean published) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<Tutorial> root = query.from(Tutorial.class);
+
+        query.multiselect(fields.stream().<Selection<?>>map(field -> root.get(field).alias(field)).toList())
+                .where(filter(cb, root, title, published))
+                .orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .getResultList()
+                .stream()
+                .map(tuple -> {
+                    final Map<String, Object> row = new LinkedHashMap<>();
+                    fields.forEach(field -> row.put(field, tuple.get(field)));
+                    return row;
+                })
+                .toList();
+    }
+
+    private static Predicate[] filter(final CriteriaBuilder cb, final Root<Tutorial> root,
+                                      final String title, final Boolean published) {
+        final List<Predicate> predicates = new ArrayList<>();
+
+        if (title != null) {
+            // escaped the same way derived Containing queries are, so % and _ in the title match literally
+            predicates.add(cb.like(root.get("title"), "%" + ESCAPE.escape(title) + "%", ESCAPE.getEscapeCharacter()));
+        }
+        if (published != null) {
+            predicates.add(cb.equal(root.get("published"), published));
+        }
+
+        return predicates.toArray(Predicate[]::new);
+    }
+}
@@ -0,0 +1,315 @@
+package com.zoola.tutorial.search;
+
+import com.zoola.tutorial.model.Tutorial;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class TutorialSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    // marks the one and two character word prefixes that answer terms too short to have a trigram
+    private static final char PREFIX_MARKER = '\u0001';
+
+    private static final Comparator<Hit> RANKING = Comparator
+            .comparingInt(Hit::field)
+            .thenComparingInt(Hit::position)
+            .thenComparingInt(Hit::length)
+            .thenComparingLong(Hit::id);
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void index(final Tutorial tutorial) {
+        final long id = tutorial.getId();
+        final Document document = new Document(normalize(tutorial.getTitle()), normalize(tutorial.getDescription()));
+
+        lock.writeLock().lock();
+        try {
+            final Document previous = documents.put(id, document);
+            if (previous != null) {
+                unpost(id, previous);
+            }
+            post(id, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void patch(final long id, final String title, final String description) {
+        lock.writeLock().lock();
+        try {
+            final Document previous = documents.get(id);
+            if (previous == null) {
+                return;
+            }
+
+            final Document document = new Document(
+                    title == null ? previous.title() : normalize(title),
+                    description == null ? previous.description() : normalize(description));
+            documents.put(id, document);
+            unpost(id, previous);
+            post(id, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexAll(final Collection<Tutorial> tutorials) {
+        tutorials.forEach(this::index);
+    }
+
+    public void remove(final long id) {
+        lock.writeLock().lock();
+        try {
+            final Document previous = documents.remove(id);
+            if (previous != null) {
+                unpost(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // terms shorter than a trigram match the start of a word, longer terms match anywhere
+    public Hits search(final String query, final int offset, final int limit) {
+        final String term = normalize(query);
+        if (term.isEmpty()) {
+            return new Hits(List.of(), 0);
+        }
+
+        // only the best offset + limit hits are kept, the rest are counted and dropped
+        final int keep = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        final PriorityQueue<Hit> best = new PriorityQueue<>(RANKING.reversed());
+        long total = 0;
+
+        lock.readLock().lock();
+        try {
+            final long[] candidates = candidates(term);
+            for (long id : candidates) {
+                final Hit hit = match(id, documents.get(id), term);
+                if (hit == null) {
+                    continue;
+                }
+                total++;
+                if (best.size() < keep) {
+                    best.add(hit);
+                } else if (keep > 0 && RANKING.compare(hit, best.peek()) < 0) {
+                    best.poll();
+                    best.add(hit);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        final List<Hit> ranked = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            ranked.add(best.poll());
+        }
+        Collections.reverse(ranked);
+
+        final int from = Math.min(offset, ranked.size());
+        final List<Long> ids = ranked.subList(from, ranked.size()).stream().map(Hit::id).toList();
+
+        return new Hits(ids, total);
+    }
+
+    private long[] candidates(final String term) {
+        if (term.length() < GRAM_LENGTH) {
+            final PostingList ids = postings.get(PREFIX_MARKER + term);
+            return ids == null ? new long[0] : Arrays.copyOf(ids.ids, ids.size);
+        }
+
+        final List<PostingList> lists = new ArrayList<>();
+        for (String gram : grams(term)) {
+            final PostingList ids = postings.get(gram);
+            if (ids == null) {
+                return new long[0];
+            }
+            lists.add(ids);
+        }
+
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        return intersect(lists);
+    }
+
+    // walks the shortest list and gallops through the others, every list is sorted so each cursor only moves forward
+    private static long[] intersect(final List<PostingList> lists) {
+        final PostingList shortest = lists.get(0);
+        final long[] result = new long[shortest.size];
+        final int[] cursors = new int[lists.size()];
+        int count = 0;
+
+        candidates:
+        for (int i = 0; i < shortest.size; i++) {
+            final long id = shortest.ids[i];
+            for (int l = 1; l < lists.size(); l++) {
+                final PostingList list = lists.get(l);
+                cursors[l] = list.seek(id, cursors[l]);
+                if (cursors[l] == list.size) {
+                    break candidates;
+                }
+                if (list.ids[cursors[l]] != id) {
+                    continue candidates;
+                }
+            }
+            result[count++] = id;
+        }
+
+        return Arrays.copyOf(result, count);
+    }
+
+    private static Hit match(final long id, final Document document, final String term) {
+        final int titlePosition = document.title().indexOf(term);
+        if (titlePosition >= 0) {
+            return new Hit(id, 0, titlePosition, document.title().length());
+        }
+
+        final int descriptionPosition = document.description().indexOf(term);
+        if (descriptionPosition >= 0) {
+            return new Hit(id, 1, descriptionPosition, document.description().length());
+        }
+
+        return null;
+    }
+
+    private void post(final long id, final Document document) {
+        for (String gram : document.grams()) {
+            postings.computeIfAbsent(gram, key -> new PostingList()).add(id);
+        }
+    }
+
+    private void unpost(final long id, final Document document) {
+        for (String gram : document.grams()) {
+            final PostingList ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static Set<String> grams(final String text) {
+        final Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static Set<String> prefixes(final String text) {
+        final Set<String> prefixes = new HashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isLetterOrDigit(text.charAt(i)) && (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)))) {
+                prefixes.add(PREFIX_MARKER + text.substring(i, i + 1));
+                if (i + 1 < text.length() && Character.isLetterOrDigit(text.charAt(i + 1))) {
+                    prefixes.add(PREFIX_MARKER + text.substring(i, i + 2));
+                }
+            }
+        }
+        return prefixes;
+    }
+
+    private static String normalize(final String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    public record Hits(List<Long> ids, long total) {
+    }
+
+    private record Hit(long id, int field, int position, int length) {
+    }
+
+    private record Document(String title, String description) {
+
+        Set<String> grams() {
+            final Set<String> grams = TutorialSearchIndex.grams(title);
+            grams.addAll(TutorialSearchIndex.grams(description));
+            grams.addAll(prefixes(title));
+            grams.addAll(prefixes(description));
+            return grams;
+        }
+    }
+
+    // ids sorted ascending in a primitive array; new ids are almost always the largest, so adding is usually an append
+    private static final class PostingList {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void add(final long id) {
+            final int found = size > 0 && ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (found >= 0) {
+                return;
+            }
+
+            final int at = -(found + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        void remove(final long id) {
+            final int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+                size--;
+            }
+        }
+
+        // index of the first id at or after from that is not below id, size when there is none
+        int seek(final long id, final int from) {
+            int bound = 1;
+            while (from + bound < size && ids[from + bound] < id) {
+                bound <<= 1;
+            }
+            final int found = Arrays.binarySearch(ids, from + (bound >> 1), Math.min(from + bound + 1, size), id);
+            return found >= 0 ? found : -(found + 1);
+        }
+    }
+}
@@ -1,20 +1,66 @@
 package com.zoola.tutorial.service;
 
+import com.zoola.tutorial.changes.TutorialChangedEvent;
+import com.zoola.tutorial.config.CacheConfig;
+import com.zoola.tutorial.exception.BadRequestException;
+import com.zoola.tutorial.exception.PreconditionFailedException;
 import com.zoola.tutorial.exception.ResourceNotFoundException;
+import com.zoola.tutorial.model.CollectionVersion;
 import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.model.TutorialPatch;
+import com.zoola.tutorial.model.TutorialPage;
+import com.zoola.tutorial.model.TutorialSearchPage;
+import com.zoola.tutorial.model.TutorialSummary;
 import com.zoola.tutorial.repository.TutorialRepository;
+import com.zoola.tutorial.search.TutorialSearchIndex;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.ResponseEntity;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 @Service
+@Timed("tutorial.service")
 public class TutorialService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int BATCH_SIZE = 50;
+    public static final Set<String> SELECTABLE_FIELDS = Set.of("id", "title", "description", "published", "version");
+
     private final TutorialRepository tutorialRepository;
+    private final EntityManager entityManager;
+    private final TutorialSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
 
+    @Transactional(readOnly = true)
     public List<Tutorial> getAllTutorials(final String title) {
         if (title == null) {
             return tutorialRepository.findAll();
@@ -23,37 +69,342 @@ public class TutorialService {
         }
     }
 
+    // read-only transactions run with flush mode MANUAL, so nothing is dirty checked on the way out
+    @Transactional(readOnly = true)
+    public List<TutorialSummary> getTutorialSummaries(final String title, final Boolean published) {
+        return tutorialRepository.findSummaries(title, published);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getTutorialFields(final Collection<String> fields, final String title, final Boolean published) {
+        final Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields) {
+            final String name = field.trim();
+            if (!SELECTABLE_FIELDS.contains(name)) {
+                throw new BadRequestException("Unknown field: " + name + ", expected any of " + SELECTABLE_FIELDS);
+            }
+            selected.add(name);
+        }
+
+        if (selected.isEmpty()) {
+            throw new BadRequestException("At least one field must be selected");
+        }
+
+        return tutorialRepository.findFields(selected, title, published);
+    }
+
+    public TutorialPage getTutorialPage(final String title, final String cursor, final int size) {
+        final int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        final long afterId = decodeCursor(cursor);
+
+        // one extra row tells us whether there is a next page without a count query
+        final Limit limit = Limit.of(pageSize + 1);
+        final List<Tutorial> tutorials = title == null
+                ? tutorialRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit)
+                : tutorialRepository.findByTitleContainingAndIdGreaterThanOrderByIdAsc(title, afterId, limit);
+
+        if (tutorials.size() <= pageSize) {
+            return new TutorialPage(tutorials, null);
+        }
+
+        final List<Tutorial> content = tutorials.subList(0, pageSize);
+        return new TutorialPage(content, encodeCursor(content.get(pageSize - 1).getId()));
+    }
+
+    public TutorialSearchPage searchTutorials(final String query, final int page, final int size) {
+        final int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        final int pageNumber = Math.max(page, 0);
+        final int offset = (int) Math.min((long) pageNumber * pageSize, Integer.MAX_VALUE);
+
+        final TutorialSearchIndex.Hits hits = searchIndex.search(query, offset, pageSize);
+        if (hits.ids().isEmpty()) {
+            return new TutorialSearchPage(List.of(), pageNumber, pageSize, hits.total());
+        }
+
+        final Map<Long, Tutorial> tutorials = tutorialRepository.findAllById(hits.ids())
+                .stream()
+                .collect(Collectors.toMap(Tutorial::getId, Function.identity()));
+        final List<Tutorial> content = hits.ids()
+                .stream()
+                .map(tutorials::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new TutorialSearchPage(content, pageNumber, pageSize, hits.total());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildSearchIndex() {
+        searchIndex.clear();
+
+        long afterId = 0L;
+        List<Tutorial> tutorials;
+        do {
+            tutorials = tutorialRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(MAX_PAGE_SIZE));
+            searchIndex.indexAll(tutorials);
+            if (!tutorials.isEmpty()) {
+                afterId = tutorials.get(tutorials.size() - 1).getId();
+            }
+        } while (tutorials.size() == MAX_PAGE_SIZE);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllTutorials(final Consumer<Tutorial> consumer) {
+        try (Stream<Tutorial> tutorials = tutorialRepository.streamAllByOrderByIdAsc()) {
+            tutorials.forEach(tutorial -> {
+                consumer.accept(tutorial);
+                entityManager.detach(tutorial);
+            });
+        }
+    }
+
+    @Cacheable(cacheNames = CacheConfig.TUTORIALS, key = "#id")
     public Tutorial getTutorialById(final long id) {
         return tutorialRepository
                 .findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Tutorial not found with id: " + id));
     }
 
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.TUTORIALS, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.PUBLISHED_TUTORIALS, allEntries = true)
+    )
     public Tutorial createTutorial(final Tutorial tutorial) {
-        return tutorialRepository.save(tutorial);
+        Tutorial _tutorial = tutorialRepository.save(tutorial);
+        afterCommit(() -> searchIndex.index(_tutorial));
+        eventPublisher.publishEvent(TutorialChangedEvent.created(List.of(_tutorial.getId())));
+
+        return _tutorial;
+    }
+
+    public long getTutorialVersion(final long id) {
+        return tutorialRepository
+                .findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Tutorial not found with id: " + id));
     }
 
+    @Transactional
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.TUTORIALS, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.PUBLISHED_TUTORIALS, allEntries = true)
+    )
     public Tutorial updateTutorial(final long id, final Tutorial tutorial) {
         Tutorial _tutorial = tutorialRepository
                 .findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Tutorial not found with id: " + id));
 
+        return applyUpdate(_tutorial, tutorial);
+    }
+
+    @Transactional
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.TUTORIALS, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.PUBLISHED_TUTORIALS, allEntries = true)
+    )
+    public Tutorial updateTutorial(final long id, final Tutorial tutorial, final long expectedVersion) {
+        Tutorial _tutorial = tutorialRepository
+                .findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Tutorial not found with id: " + id));
+
+        if (!Objects.equals(_tutorial.getVersion(), expectedVersion)) {
+            throw new PreconditionFailedException(
+                    "Tutorial with id: " + id + " is at version " + _tutorial.getVersion() + ", not " + expectedVersion);
+        }
+
+        return applyUpdate(_tutorial, tutorial);
+    }
+
+    private Tutorial applyUpdate(final Tutorial _tutorial, final Tutorial tutorial) {
         _tutorial.setTitle(tutorial.getTitle());
         _tutorial.setDescription(tutorial.getDescription());
         _tutorial.setPublished(tutorial.isPublished());
 
-        return tutorialRepository.save(_tutorial);
+        Tutorial saved = tutorialRepository.save(_tutorial);
+        afterCommit(() -> searchIndex.index(saved));
+        eventPublisher.publishEvent(TutorialChangedEvent.updated(List.of(saved.getId())));
+
+        return saved;
+    }
+
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TUTORIALS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PUBLISHED_TUTORIALS, allEntries = true)
+    })
+    public void patchTutorial(final long id, final TutorialPatch patch) {
+        if (patch.isEmpty()) {
+            throw new BadRequestException("A patch needs at least one of title, description or published");
+        }
+
+        // a single update statement, the row is never loaded
+        final int updated = tutorialRepository.patchById(id, patch.title(), patch.description(), patch.published());
+        if (updated == 0) {
+            throw new ResourceNotFoundException("Tutorial not found with id: " + id);
+        }
+
+        if (patch.title() != null || patch.description() != null) {
+            afterCommit(() -> searchIndex.patch(id, patch.title(), patch.description()));
+        }
+        eventPublisher.publishEvent(TutorialChangedEvent.updated(List.of(id)));
+    }
+
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TUTORIALS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PUBLISHED_TUTORIALS, allEntries = true)
+    })
+    public int updatePublished(final Collection<Long> ids, final String title, final boolean published) {
+        if ((ids == null || ids.isEmpty()) == (title == null)) {
+            throw new BadRequestException("Select tutorials by either ids or title");
+        }
+
+        if (title == null) {
+            final int updated = tutorialRepository.updatePublishedByIdIn(ids, published);
+            eventPublisher.publishEvent(TutorialChangedEvent.updated(List.copyOf(ids)));
+            return updated;
+        }
+
+        // the statement does not report which rows it changed
+        final int updated = tutorialRepository.updatePublishedByTitleContaining(title, published);
+        eventPublisher.publishEvent(TutorialChangedEvent.invalidated());
+        return updated;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TUTORIALS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PUBLISHED_TUTORIALS, allEntries = true)
+    })
     public void deleteById(final long id) {
         tutorialRepository.deleteById(id);
+        afterCommit(() -> searchIndex.remove(id));
+        eventPublisher.publishEvent(TutorialChangedEvent.deleted(List.of(id)));
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TUTORIALS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PUBLISHED_TUTORIALS, allEntries = true)
+    })
     public void deleteAll() {
-        tutorialRepository.deleteAll();
+        tutorialRepository.deleteAllInBatch();
+        afterCommit(searchIndex::clear);
+        eventPublisher.publishEvent(TutorialChangedEvent.cleared());
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PUBLISHED_TUTORIALS, allEntries = true)
+    public List<Tutorial> createTutorials(final List<Tutorial> tutorials) {
+        final List<Tutorial> saved = new ArrayList<>(tutorials.size());
+
+        for (Tutorial tutorial : tutorials) {
+            saved.add(tutorialRepository.save(tutorial));
+            if (saved.size() % BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        afterCommit(() -> searchIndex.indexAll(saved));
+        eventPublisher.publishEvent(TutorialChangedEvent.created(saved.stream().map(Tutorial::getId).toList()));
+
+        return saved;
+    }
+
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TUTORIALS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PUBLISHED_TUTORIALS, allEntries = true)
+    })
+    public List<Tutorial> updateTutorials(final List<Tutorial> tutorials) {
+        final List<Tutorial> updated = new ArrayList<>(tutorials.size());
+
+        if (tutorials.stream().anyMatch(tutorial -> tutorial.getId() == null)) {
+            throw new BadRequestException("Every tutorial in a batch update needs an id");
+        }
+
+        for (int from = 0; from < tutorials.size(); from += BATCH_SIZE) {
+            final List<Tutorial> chunk = tutorials.subList(from, Math.min(from + BATCH_SIZE, tutorials.size()));
+            final Map<Long, Tutorial> existing = tutorialRepository.findAllById(chunk.stream().map(Tutorial::getId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(Tutorial::getId, Function.identity()));
+
+            for (Tutorial tutorial : chunk) {
+                Tutorial _tutorial = existing.get(tutorial.getId());
+                if (_tutorial == null) {
+                    throw new ResourceNotFoundException("Tutorial not found with id: " + tutorial.getId());
+                }
+
+                _tutorial.setTitle(tutorial.getTitle());
+                _tutorial.setDescription(tutorial.getDescription());
+                _tutorial.setPublished(tutorial.isPublished());
+                updated.add(_tutorial);
+            }
+
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        afterCommit(() -> searchIndex.indexAll(updated));
+        eventPublisher.publishEvent(TutorialChangedEvent.updated(updated.stream().map(Tutorial::getId).toList()));
+
+        return updated;
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PUBLISHED_TUTORIALS, allEntries = true)
+    public int deleteTutorials(final Collection<Long> ids) {
+        final int deleted = tutorialRepository.deleteByIdIn(ids);
+
+        // the delete has committed by now, evicting only its ids keeps the rest of the cache warm during a purge
+        final Cache tutorials = cacheManager.getCache(CacheConfig.TUTORIALS);
+        if (tutorials != null) {
+            ids.forEach(tutorials::evict);
+        }
+        afterCommit(() -> ids.forEach(searchIndex::remove));
+        eventPublisher.publishEvent(TutorialChangedEvent.deleted(List.copyOf(ids)));
+
+        return deleted;
     }
 
+    @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.PUBLISHED_TUTORIALS)
     public List<Tutorial> findByPublished() {
         return tutorialRepository.findByPublished(true);
     }
+
+    public CollectionVersion getPublishedVersion() {
+        return tutorialRepository.findPublishedVersion();
+    }
+
+    // the search index lives in memory and cannot roll back, so inside a transaction it only sees the write once the
+    // transaction has committed; outside of one the repository call has committed already
+    private static void afterCommit(final Runnable indexUpdate) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            indexUpdate.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                indexUpdate.run();
+            }
+        });
+    }
+
+    static String encodeCursor(final long id) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(Long.toString(id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static long decodeCursor(final String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
 }
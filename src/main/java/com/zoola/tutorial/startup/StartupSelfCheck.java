@@ -0,0 +1,112 @@
+package com.zoola.tutorial.startup;
+
+import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.repository.TutorialRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+// Runners finish before the application reports itself ready, so a node whose pool or database
+// cannot keep up never passes its readiness probe
+@Component
+@ConditionalOnProperty(name = "tutorial.self-check.enabled", havingValue = "true")
+@Slf4j
+public class StartupSelfCheck implements ApplicationRunner {
+
+    private static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+
+    private final TutorialRepository tutorialRepository;
+    private final MeterRegistry meterRegistry;
+    private final Duration duration;
+    private final int concurrency;
+    private final double minimumOpsPerSecond;
+
+    public StartupSelfCheck(final TutorialRepository tutorialRepository,
+                            final MeterRegistry meterRegistry,
+                            @Value("${tutorial.self-check.duration:2s}") final Duration duration,
+                            @Value("${tutorial.self-check.concurrency:8}") final int concurrency,
+                            @Value("${tutorial.self-check.minimum-ops-per-second:0}") final double minimumOpsPerSecond) {
+        this.tutorialRepository = tutorialRepository;
+        this.meterRegistry = meterRegistry;
+        this.duration = duration;
+        this.concurrency = concurrency;
+        this.minimumOpsPerSecond = minimumOpsPerSecond;
+    }
+
+    @Override
+    public void run(final ApplicationArguments args) throws Exception {
+        final Result result = measure();
+
+        log.info("Self-check: {} repository operations in {} on {} threads, {} ops/sec, connection acquire mean {} ms max {} ms",
+                result.operations(), duration, concurrency, String.format("%.0f", result.opsPerSecond()),
+                String.format("%.3f", result.meanAcquireMillis()), String.format("%.3f", result.maxAcquireMillis()));
+
+        if (result.opsPerSecond() < minimumOpsPerSecond) {
+            throw new IllegalStateException("Self-check reached " + String.format("%.0f", result.opsPerSecond())
+                    + " ops/sec, below the required " + minimumOpsPerSecond);
+        }
+    }
+
+    // read-only primary key and keyset lookups, the shapes of most production traffic, so the check never writes
+    Result measure() throws Exception {
+        final List<Tutorial> sample = tutorialRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(100));
+        final long[] ids = sample.isEmpty() ? new long[]{1L} : sample.stream().mapToLong(Tutorial::getId).toArray();
+
+        final Timer acquire = meterRegistry.find(ACQUIRE_TIMER).timer();
+        final long acquiredBefore = acquire == null ? 0L : acquire.count();
+        final double acquireNanosBefore = acquire == null ? 0.0 : acquire.totalTime(TimeUnit.NANOSECONDS);
+
+        final LongAdder operations = new LongAdder();
+        final long deadline = System.nanoTime() + duration.toNanos();
+        final ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            final List<Future<?>> workers = IntStream.range(0, concurrency)
+                    .<Future<?>>mapToObj(worker -> executor.submit(() -> {
+                        final ThreadLocalRandom random = ThreadLocalRandom.current();
+                        while (System.nanoTime() < deadline) {
+                            final long id = ids[random.nextInt(ids.length)];
+                            if (random.nextInt(4) == 0) {
+                                tutorialRepository.findByIdGreaterThanOrderByIdAsc(id, Limit.of(20));
+                            } else {
+                                tutorialRepository.findVersionById(id);
+                            }
+                            operations.increment();
+                        }
+                    }))
+                    .toList();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final long acquired = acquire == null ? 0L : acquire.count() - acquiredBefore;
+        final double acquireNanos = acquire == null ? 0.0 : acquire.totalTime(TimeUnit.NANOSECONDS) - acquireNanosBefore;
+
+        return new Result(
+                operations.sum(),
+                operations.sum() / (duration.toNanos() / 1e9),
+                acquired == 0 ? 0.0 : acquireNanos / acquired / 1e6,
+                acquire == null ? 0.0 : acquire.max(TimeUnit.MILLISECONDS));
+    }
+
+    record Result(long operations, double opsPerSecond, double meanAcquireMillis, double maxAcquireMillis) {
+    }
+}
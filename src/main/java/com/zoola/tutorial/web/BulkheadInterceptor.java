@@ -0,0 +1,84 @@
+package com.zoola.tutorial.web;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Caps concurrent requests per expensive endpoint below the connection pool size, so a flood of
+// listings cannot hold every connection while cheap lookups wait behind it
+@Component
+@ConditionalOnProperty(name = "tutorial.bulkhead.enabled", havingValue = "true")
+public class BulkheadInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".PERMIT";
+
+    private final Map<String, Semaphore> bulkheads;
+    private final BulkheadProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public BulkheadInterceptor(final BulkheadProperties properties, final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.bulkheads = properties.endpoints() == null ? Map.of() : properties.endpoints()
+                .entrySet()
+                .stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> new Semaphore(entry.getValue(), true)));
+
+        bulkheads.forEach((endpoint, semaphore) -> Gauge.builder("tutorial.bulkhead.available", semaphore, Semaphore::availablePermits)
+                .description("Requests the endpoint can still admit")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry));
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler)
+            throws InterruptedException {
+        // async dispatches of a streaming response still hold the permit of the initial dispatch
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        final String endpoint = Endpoints.of(handlerMethod);
+        final Semaphore bulkhead = bulkheads.get(endpoint);
+        if (bulkhead == null) {
+            return true;
+        }
+
+        if (!bulkhead.tryAcquire(properties.timeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            meterRegistry.counter("tutorial.bulkhead.rejected", "endpoint", endpoint).increment();
+
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return false;
+        }
+
+        request.setAttribute(PERMIT_ATTRIBUTE, bulkhead);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
+                                final Object handler, final Exception exception) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Semaphore bulkhead) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            bulkhead.release();
+        }
+    }
+
+    public int availablePermits(final String endpoint) {
+        return bulkheads.get(endpoint).availablePermits();
+    }
+}
@@ -0,0 +1,16 @@
+package com.zoola.tutorial.web;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+// Maximum concurrent requests per endpoint, keyed like RateLimitProperties, unlisted endpoints are not limited
+@ConfigurationProperties("tutorial.bulkhead")
+public record BulkheadProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100ms") Duration timeout,
+        Map<String, Integer> endpoints
+) {
+}
@@ -0,0 +1,65 @@
+package com.zoola.tutorial.web;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Virtual threads are cheap enough that thousands of requests can wait on Hikari at once and
+// time out there, so admission is capped at the pool size before the handler runs instead.
+@Component
+@ConditionalOnProperty(name = "tutorial.connection-limiter.enabled", havingValue = "true")
+public class ConnectionLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ConnectionLimitInterceptor.class.getName() + ".PERMIT";
+
+    private final Semaphore permits;
+    private final Duration timeout;
+
+    public ConnectionLimitInterceptor(@Value("${spring.datasource.hikari.maximum-pool-size:10}") final int maximumPoolSize,
+                                      @Value("${tutorial.connection-limiter.timeout:2s}") final Duration timeout) {
+        this.permits = new Semaphore(maximumPoolSize, true);
+        this.timeout = timeout;
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler)
+            throws InterruptedException {
+        // async dispatches of a streaming response still hold the permit of the initial dispatch
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+
+        if (!permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return false;
+        }
+
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
+                                final Object handler, final Exception exception) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permits.release();
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,19 @@
+package com.zoola.tutorial.web;
+
+import org.springframework.web.method.HandlerMethod;
+
+public final class Endpoints {
+
+    private Endpoints() {
+    }
+
+    // The handler method rather than the path: /api/tutorials/1 and /api/tutorials/2 share one endpoint, while the
+    // full listing, its title filter, its keyset pages and its NDJSON stream share a path but not a handler
+    public static String of(final HandlerMethod handler) {
+        return of(handler.getBeanType(), handler.getMethod().getName());
+    }
+
+    public static String of(final Class<?> controller, final String method) {
+        return controller.getSimpleName() + "." + method;
+    }
+}
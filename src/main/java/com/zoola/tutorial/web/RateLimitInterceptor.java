@@ -0,0 +1,74 @@
+package com.zoola.tutorial.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zoola.tutorial.ratelimit.TokenBucket;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+// One token bucket per client and endpoint, idle buckets are evicted so the map stays bounded
+@Component
+@ConditionalOnProperty(name = "tutorial.rate-limit.enabled", havingValue = "true")
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimitInterceptor(final RateLimitProperties properties, final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maximumClients())
+                .expireAfterAccess(properties.idleTimeout())
+                .build();
+
+        Gauge.builder("tutorial.rate_limit.buckets", buckets, Cache::estimatedSize)
+                .description("Clients and endpoints with a token bucket")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        return admit(request, response, Endpoints.of(handlerMethod));
+    }
+
+    // also called by filters that answer a request before it reaches a handler
+    public boolean admit(final HttpServletRequest request, final HttpServletResponse response, final String endpoint) {
+        final TokenBucket bucket = buckets.get(request.getRemoteAddr() + " " + endpoint, key -> {
+            final RateLimitProperties.Limit limit = properties.limitFor(endpoint);
+            return new TokenBucket(limit.permitsPerSecond(), limit.burst());
+        });
+
+        final long wait = bucket.tryAcquire();
+        if (wait == 0) {
+            return true;
+        }
+
+        meterRegistry.counter("tutorial.rate_limit.rejected", "endpoint", endpoint).increment();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999L))));
+        return false;
+    }
+
+    public long trackedBuckets() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
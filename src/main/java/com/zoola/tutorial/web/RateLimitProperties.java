@@ -0,0 +1,29 @@
+package com.zoola.tutorial.web;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+// Endpoint keys are the controller and handler method, e.g. "[TutorialController.deleteAllTutorials]" in YAML.
+// Clients are told apart by their remote address, which behind a proxy is only the client's own once
+// server.forward-headers-strategy lets the container take it from X-Forwarded-For.
+@ConfigurationProperties("tutorial.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("50") double permitsPerSecond,
+        @DefaultValue("100") int burst,
+        @DefaultValue("100000") long maximumClients,
+        @DefaultValue("10m") Duration idleTimeout,
+        Map<String, Limit> endpoints
+) {
+
+    public Limit limitFor(final String endpoint) {
+        final Limit limit = endpoints == null ? null : endpoints.get(endpoint);
+        return limit != null ? limit : new Limit(permitsPerSecond, burst);
+    }
+
+    public record Limit(double permitsPerSecond, int burst) {
+    }
+}
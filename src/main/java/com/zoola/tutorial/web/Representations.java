@@ -0,0 +1,74 @@
+package com.zoola.tutorial.web;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Entity tags name the representation as well as the version: version 3 of a tutorial is W/"3" as JSON and
+// W/"3-cbor" or W/"3-smile" in the binary encodings, so a cache never answers one format with another. They are
+// weak because the body is the same data whether or not it is gzipped, and Tomcat will not compress a response
+// that carries a strong tag.
+public final class Representations {
+
+    public static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    // in the order the message converters are registered, which is the order negotiation tries them in
+    private static final Map<MediaType, String> SUFFIXES = new LinkedHashMap<>();
+
+    static {
+        SUFFIXES.put(MediaType.APPLICATION_JSON, "");
+        SUFFIXES.put(MediaType.APPLICATION_CBOR, "-cbor");
+        SUFFIXES.put(SMILE, "-smile");
+    }
+
+    private Representations() {
+    }
+
+    public static String etag(final String value, final String accept) {
+        return "W/\"" + value + suffix(accept) + "\"";
+    }
+
+    // the value an entity tag was built from, whichever representation it was issued for
+    public static String value(final String etag) {
+        String value = etag.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+
+        for (String suffix : SUFFIXES.values()) {
+            if (!suffix.isEmpty() && value.endsWith(suffix)) {
+                return value.substring(0, value.length() - suffix.length());
+            }
+        }
+        return value;
+    }
+
+    private static String suffix(final String accept) {
+        if (accept == null) {
+            return "";
+        }
+
+        final List<MediaType> types;
+        try {
+            types = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return "";
+        }
+        types.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+
+        for (MediaType type : types) {
+            for (Map.Entry<MediaType, String> format : SUFFIXES.entrySet()) {
+                if (type.isCompatibleWith(format.getKey())) {
+                    return format.getValue();
+                }
+            }
+        }
+        return "";
+    }
+}
@@ -0,0 +1,10 @@
+create sequence tutorials_seq start with 1 increment by 50;
+
+create table tutorials (
+    id          bigint       not null,
+    title       varchar(255),
+    description varchar(255),
+    published   boolean      not null,
+    version     bigint       default 0 not null,
+    primary key (id)
+);
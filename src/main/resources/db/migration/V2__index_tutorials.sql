@@ -0,0 +1,6 @@
+-- H2 has neither partial indexes nor INCLUDE columns, so the published index carries id and version itself:
+-- findPublishedVersion is answered from the index alone and findByPublished reads only the matching rows
+create index idx_tutorials_published on tutorials (published, id, version);
+
+-- ordering by title; contains-searches start with a wildcard and cannot use it
+create index idx_tutorials_title on tutorials (title);
@@ -9,8 +9,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.BeanFactoryCacheOperationSourceAdvisor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.interceptor.BeanFactoryTransactionAttributeSourceAdvisor;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
@@ -30,6 +34,15 @@ class TutorialApplicationTests {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private BeanFactoryCacheOperationSourceAdvisor cacheAdvisor;
+
+    @Autowired
+    private BeanFactoryTransactionAttributeSourceAdvisor transactionAdvisor;
+
     @Test
     void contextLoads() {
     }
@@ -37,6 +50,7 @@ class TutorialApplicationTests {
     @BeforeEach
     void setUp() {
         tutorialRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
     }
 
     @Test
@@ -210,6 +224,84 @@ class TutorialApplicationTests {
                 .andExpect(jsonPath("$", hasSize(2)));
     }
 
+    @Test
+    @DisplayName("Should not serve cached published tutorials after a tutorial is created")
+    void itShouldEvictCachedPublishedTutorialsOnCreate() throws Exception {
+        Tutorial tut1 = new Tutorial("Tut1 title", "Tut1 desc", true);
+        tutorialRepository.save(tut1);
+
+        mockMvc.perform(get("/api/tutorials/published"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(post("/api/tutorials")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Tutorial("Tut2 title", "Tut2 desc", true))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/tutorials/published"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    @DisplayName("Should not serve a cached tutorial after it is updated")
+    void itShouldRefreshCachedTutorialOnUpdate() throws Exception {
+        Tutorial tut1 = new Tutorial("Tut1 title", "Tut1 desc", true);
+        tutorialRepository.save(tut1);
+
+        mockMvc.perform(get("/api/tutorials/" + tut1.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Tut1 title"));
+
+        mockMvc.perform(put("/api/tutorials/" + tut1.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Tutorial("Tut1 title updated", "Tut1 desc", true))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tutorials/" + tut1.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Tut1 title updated"));
+    }
+
+    @Test
+    @DisplayName("Should update the cache only once the transaction has committed")
+    void itShouldApplyCacheAdviceOutsideTheTransaction() {
+        assertThat(cacheAdvisor.getOrder()).isLessThan(transactionAdvisor.getOrder());
+    }
+
+    @Test
+    @DisplayName("Should revalidate a tutorial by entity tag and reject stale updates")
+    void itShouldRevalidateByEntityTagAndRejectStaleUpdates() throws Exception {
+        Tutorial tut1 = new Tutorial("Tut1 title", "Tut1 desc", true);
+        tutorialRepository.save(tut1);
+
+        String etag = mockMvc.perform(get("/api/tutorials/" + tut1.getId()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/tutorials/" + tut1.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/tutorials/" + tut1.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Tutorial("Tut1 title updated", "Tut1 desc", true))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/tutorials/" + tut1.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Tutorial("Tut1 title stale", "Tut1 desc", true))))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/api/tutorials/" + tut1.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Tut1 title updated"));
+    }
+
     @Test
     @DisplayName("Should return no content if no published tutorials")
     void itShouldReturnNoContentIfNoPublishedTutorials() throws Exception {
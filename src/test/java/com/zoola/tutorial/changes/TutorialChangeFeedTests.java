@@ -0,0 +1,103 @@
+package com.zoola.tutorial.changes;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class TutorialChangeFeedTests {
+
+    private final TutorialChangeFeed changeFeed = new TutorialChangeFeed(3, 2, 2, 1, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+    @AfterEach
+    void tearDown() {
+        changeFeed.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should number changes in the order they were committed")
+    public void shouldNumberChangesInTheOrderTheyWereCommitted() {
+        changeFeed.onTutorialChanged(TutorialChangedEvent.created(List.of(1L)));
+        changeFeed.onTutorialChanged(TutorialChangedEvent.updated(List.of(1L)));
+
+        TutorialChangeFeed.Changes changes = changeFeed.since(0);
+
+        assertThat(changes.truncated()).isFalse();
+        assertThat(changes.changes())
+                .extracting(TutorialChange::sequence, TutorialChange::type)
+                .containsExactly(
+                        tuple(1L, TutorialChange.Type.CREATED),
+                        tuple(2L, TutorialChange.Type.UPDATED));
+    }
+
+    @Test
+    @DisplayName("Should return only the changes after the given sequence")
+    public void shouldReturnOnlyTheChangesAfterTheGivenSequence() {
+        changeFeed.append(TutorialChange.Type.CREATED, List.of(1L));
+        changeFeed.append(TutorialChange.Type.CREATED, List.of(2L));
+        changeFeed.append(TutorialChange.Type.DELETED, List.of(1L));
+
+        TutorialChangeFeed.Changes changes = changeFeed.since(2);
+
+        assertThat(changes.truncated()).isFalse();
+        assertThat(changes.changes()).extracting(TutorialChange::sequence).containsExactly(3L);
+        assertThat(changeFeed.since(3).changes()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report truncation once changes have been overwritten")
+    public void shouldReportTruncationOnceChangesHaveBeenOverwritten() {
+        for (long id = 1; id <= 5; id++) {
+            changeFeed.append(TutorialChange.Type.CREATED, List.of(id));
+        }
+
+        TutorialChangeFeed.Changes changes = changeFeed.since(1);
+
+        assertThat(changes.truncated()).isTrue();
+        assertThat(changes.changes()).extracting(TutorialChange::sequence).containsExactly(3L, 4L, 5L);
+        assertThat(changeFeed.since(2).truncated()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should report truncation for a sequence it never issued")
+    public void shouldReportTruncationForASequenceItNeverIssued() {
+        changeFeed.append(TutorialChange.Type.CLEARED, List.of());
+
+        TutorialChangeFeed.Changes changes = changeFeed.since(42);
+
+        assertThat(changes.truncated()).isTrue();
+        assertThat(changes.changes()).extracting(TutorialChange::sequence).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should record a change to more tutorials than it keeps ids for as an invalidation")
+    public void shouldRecordABulkChangeAsAnInvalidation() {
+        changeFeed.append(TutorialChange.Type.DELETED, List.of(1L, 2L));
+        changeFeed.append(TutorialChange.Type.CREATED, List.of(3L, 4L, 5L));
+
+        assertThat(changeFeed.since(0).changes())
+                .extracting(TutorialChange::type, TutorialChange::ids)
+                .containsExactly(
+                        tuple(TutorialChange.Type.DELETED, List.of(1L, 2L)),
+                        tuple(TutorialChange.Type.INVALIDATED, List.of()));
+    }
+
+    @Test
+    @DisplayName("Should reset a subscriber that lags behind instead of replaying everything it missed")
+    public void shouldResetASubscriberThatLagsBehind() {
+        for (long id = 1; id <= 3; id++) {
+            changeFeed.append(TutorialChange.Type.CREATED, List.of(id));
+        }
+
+        TutorialChangeFeed.Changes pending = changeFeed.pending(0);
+
+        assertThat(pending.truncated()).isTrue();
+        assertThat(pending.changes()).extracting(TutorialChange::sequence).containsExactly(2L, 3L);
+        assertThat(changeFeed.pending(1).truncated()).isFalse();
+    }
+}
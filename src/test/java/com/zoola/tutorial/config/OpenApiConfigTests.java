@@ -0,0 +1,30 @@
+package com.zoola.tutorial.config;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OpenApiConfigTests {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(OpenApiConfig.class)
+            .withPropertyValues(
+                    "example.openapi.dev-url=http://localhost:8080",
+                    "example.openapi.prod-url=https://example.com");
+
+    @Test
+    @DisplayName("Should describe the API when api-docs are enabled")
+    public void shouldDescribeTheApiWhenApiDocsAreEnabled() {
+        contextRunner.run(context -> assertThat(context).hasSingleBean(OpenAPI.class));
+    }
+
+    @Test
+    @DisplayName("Should not load the API description when api-docs are disabled")
+    public void shouldNotLoadTheApiDescriptionWhenApiDocsAreDisabled() {
+        contextRunner.withPropertyValues("springdoc.api-docs.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(OpenAPI.class));
+    }
+}
@@ -0,0 +1,45 @@
+package com.zoola.tutorial.config;
+
+import com.zoola.tutorial.changes.TutorialChange;
+import com.zoola.tutorial.exception.ErrorMessage;
+import com.zoola.tutorial.model.TableVersion;
+import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.model.TutorialSummary;
+import com.zoola.tutorial.model.TutorialVersion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TutorialRuntimeHintsTests {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    TutorialRuntimeHintsTests() {
+        new TutorialRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Should register the JSON bodies for binding")
+    public void shouldRegisterTheJsonBodiesForBinding() throws Exception {
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(Tutorial.class.getMethod("getTitle"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(TutorialChange.class.getMethod("sequence"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(ErrorMessage.class)).accepts(hints);
+    }
+
+    @Test
+    @DisplayName("Should register the constructors used by query constructor expressions")
+    public void shouldRegisterTheConstructorsUsedByQueryConstructorExpressions() throws Exception {
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onConstructor(TableVersion.class.getDeclaredConstructor(Long.class, Long.class, Long.class)))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onConstructor(TutorialVersion.class.getDeclaredConstructor(Long.class, Long.class)))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onConstructor(TutorialSummary.class.getDeclaredConstructor(Long.class, String.class, boolean.class)))
+                .accepts(hints);
+    }
+}
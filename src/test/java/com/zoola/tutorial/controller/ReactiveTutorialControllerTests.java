@@ -0,0 +1,77 @@
+package com.zoola.tutorial.controller;
+
+import com.zoola.tutorial.model.ReactiveTutorial;
+import com.zoola.tutorial.repository.ReactiveTutorialRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.Mockito.*;
+
+@WebFluxTest({ReactiveTutorialController.class})
+public class ReactiveTutorialControllerTests {
+
+    @MockBean
+    private ReactiveTutorialRepository tutorialRepository;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    @DisplayName("Should stream list of tutorials")
+    public void shouldStreamListOfTutorials() {
+        when(tutorialRepository.findAll()).thenReturn(Flux.just(
+                new ReactiveTutorial(1L, "ReactiveTutorial 1", "Description 1", true),
+                new ReactiveTutorial(2L, "ReactiveTutorial 2", "Description 2", false)
+        ));
+
+        webTestClient.get().uri("/api/tutorials")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ReactiveTutorial.class)
+                .hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should return tutorial by id")
+    public void shouldReturnTutorialById() {
+        final ReactiveTutorial tutorial = new ReactiveTutorial(1L, "ReactiveTutorial 1", "Description 1", true);
+
+        when(tutorialRepository.findById(1L)).thenReturn(Mono.just(tutorial));
+
+        webTestClient.get().uri("/api/tutorials/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ReactiveTutorial.class)
+                .isEqualTo(tutorial);
+    }
+
+    @Test
+    @DisplayName("Should return not found if given id does not exist")
+    public void shouldReturnNotFoundIfGivenIdDoesNotExist() {
+        when(tutorialRepository.findById(1L)).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/api/tutorials/1")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Should delete all tutorials")
+    public void shouldDeleteAllTutorials() {
+        when(tutorialRepository.deleteAll()).thenReturn(Mono.empty());
+
+        webTestClient.delete().uri("/api/tutorials")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        verify(tutorialRepository, times(1)).deleteAll();
+    }
+}
@@ -0,0 +1,57 @@
+package com.zoola.tutorial.controller;
+
+import com.zoola.tutorial.changes.TutorialChangeFeed;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@WebMvcTest({TutorialChangeController.class})
+public class TutorialChangeControllerTests {
+
+    @MockBean
+    private TutorialChangeFeed changeFeed;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should subscribe from the current sequence when no position is given")
+    public void shouldSubscribeFromTheCurrentSequence() throws Exception {
+        when(changeFeed.subscribe(null)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/tutorials/changes"))
+                .andExpect(request().asyncStarted());
+
+        verify(changeFeed, times(1)).subscribe(null);
+    }
+
+    @Test
+    @DisplayName("Should resume after the sequence in the query")
+    public void shouldResumeAfterTheSequenceInTheQuery() throws Exception {
+        when(changeFeed.subscribe(7L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/tutorials/changes?since=7"))
+                .andExpect(request().asyncStarted());
+
+        verify(changeFeed, times(1)).subscribe(7L);
+    }
+
+    @Test
+    @DisplayName("Should prefer the Last-Event-ID header over the query when resuming")
+    public void shouldPreferTheLastEventIdHeaderWhenResuming() throws Exception {
+        when(changeFeed.subscribe(12L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/tutorials/changes?since=7").header(TutorialChangeController.LAST_EVENT_ID, "12"))
+                .andExpect(request().asyncStarted());
+
+        verify(changeFeed, times(1)).subscribe(12L);
+    }
+}
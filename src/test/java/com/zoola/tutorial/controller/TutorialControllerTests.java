@@ -1,19 +1,33 @@
 package com.zoola.tutorial.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.zoola.tutorial.exception.BadRequestException;
 import com.zoola.tutorial.exception.ControllerExceptionHandler;
+import com.zoola.tutorial.exception.PreconditionFailedException;
+import com.zoola.tutorial.exception.ResourceNotFoundException;
 import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.model.TutorialPage;
+import com.zoola.tutorial.model.TutorialPatch;
+import com.zoola.tutorial.model.TutorialSearchPage;
+import com.zoola.tutorial.model.TutorialSummary;
 import com.zoola.tutorial.service.TutorialService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -46,6 +60,30 @@ public class TutorialControllerTests {
                 .andExpect(jsonPath("$.size()").value(tutorials.size()));
     }
 
+    @Test
+    @DisplayName("Should encode the list of tutorials as CBOR or Smile when asked for")
+    public void shouldEncodeListOfTutorialsAsCborOrSmile() throws Exception {
+        final List<Tutorial> tutorials = List.of(
+                new Tutorial(1L, "Tutorial 1", "Description 1", true),
+                new Tutorial(2L, "Tutorial 2", "Description 2", false)
+        );
+
+        when(tutorialService.getAllTutorials(null)).thenReturn(tutorials);
+
+        final byte[] cbor = mockMvc.perform(get("/api/tutorials").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        final byte[] smile = mockMvc.perform(get("/api/tutorials").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        final JsonNode expected = objectMapper.readTree(objectMapper.writeValueAsBytes(tutorials));
+        assertThat(new CBORMapper().readTree(cbor)).isEqualTo(expected);
+        assertThat(new SmileMapper().readTree(smile)).isEqualTo(expected);
+    }
+
     @Test
     @DisplayName("Should return no content when no tutorials found")
     public void shouldReturnNoContentWhenNoTutorialsFound() throws Exception {
@@ -55,6 +93,58 @@ public class TutorialControllerTests {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @DisplayName("Should route a title filter to its own handler and a titled page to the keyset handler")
+    public void shouldRouteTitleFilterAndTitledPageToTheirHandlers() throws Exception {
+        final List<Tutorial> tutorials = List.of(new Tutorial(1L, "Spring Boot", "Description 1", true));
+        final TutorialPage page = new TutorialPage(tutorials, null);
+
+        when(tutorialService.getAllTutorials("Spring")).thenReturn(tutorials);
+        when(tutorialService.getTutorialPage("Spring", null, 1)).thenReturn(page);
+
+        mockMvc.perform(get("/api/tutorials").param("title", "Spring"))
+                .andExpect(status().isOk())
+                .andExpect(handler().methodName("findTutorialsByTitle"))
+                .andExpect(jsonPath("$.size()").value(1));
+        mockMvc.perform(get("/api/tutorials").param("title", "Spring").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(handler().methodName("getTutorialPage"));
+    }
+
+    @Test
+    @DisplayName("Should return a keyset page of tutorials")
+    public void shouldReturnKeysetPageOfTutorials() throws Exception {
+        final TutorialPage page = new TutorialPage(
+                List.of(new Tutorial(1L, "Tutorial 1", "Description 1", true)),
+                "MQ"
+        );
+
+        when(tutorialService.getTutorialPage(null, null, 1)).thenReturn(page);
+
+        mockMvc.perform(get("/api/tutorials?size=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(1))
+                .andExpect(jsonPath("$.next").value("MQ"));
+    }
+
+    @Test
+    @DisplayName("Should return search results")
+    public void shouldReturnSearchResults() throws Exception {
+        final TutorialSearchPage page = new TutorialSearchPage(
+                List.of(new Tutorial(1L, "Spring Tutorial", "Description 1", true)),
+                0,
+                20,
+                1
+        );
+
+        when(tutorialService.searchTutorials("spring", 0, 20)).thenReturn(page);
+
+        mockMvc.perform(get("/api/tutorials/search?q=spring"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Spring Tutorial"))
+                .andExpect(jsonPath("$.total").value(1));
+    }
+
     @Test
     @DisplayName("Should return tutorial by id")
     public void shouldReturnTutorialById() throws Exception {
@@ -68,6 +158,74 @@ public class TutorialControllerTests {
                 .andExpect(content().json(objectMapper.writeValueAsString(tutorial)));
     }
 
+    @Test
+    @DisplayName("Should return not modified without loading the tutorial when the version is unchanged")
+    public void shouldReturnNotModifiedWhenVersionIsUnchanged() throws Exception {
+        final long id = 1L;
+
+        when(tutorialService.getTutorialVersion(id)).thenReturn(3L);
+
+        mockMvc.perform(get("/api/tutorials/" + id).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"3\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+
+        verify(tutorialService, never()).getTutorialById(id);
+    }
+
+    @Test
+    @DisplayName("Should return tutorial with its version as entity tag")
+    public void shouldReturnTutorialWithVersionAsEntityTag() throws Exception {
+        final long id = 1L;
+        final Tutorial tutorial = new Tutorial(id, "Tutorial 1", "Description 1", true, 4L);
+
+        when(tutorialService.getTutorialVersion(id)).thenReturn(4L);
+        when(tutorialService.getTutorialById(id)).thenReturn(tutorial);
+
+        mockMvc.perform(get("/api/tutorials/" + id).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"4\""));
+    }
+
+    @Test
+    @DisplayName("Should tag each encoding of a tutorial differently and vary by Accept")
+    public void shouldTagEachEncodingDifferently() throws Exception {
+        final long id = 1L;
+        final Tutorial tutorial = new Tutorial(id, "Tutorial 1", "Description 1", true, 4L);
+
+        when(tutorialService.getTutorialVersion(id)).thenReturn(4L);
+        when(tutorialService.getTutorialById(id)).thenReturn(tutorial);
+
+        mockMvc.perform(get("/api/tutorials/" + id).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"4-cbor\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+        mockMvc.perform(get("/api/tutorials/" + id).accept("application/x-jackson-smile"))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"4-smile\""));
+
+        // the JSON tag does not revalidate the CBOR body
+        mockMvc.perform(get("/api/tutorials/" + id).accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, "W/\"4\""))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/tutorials/" + id).accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, "W/\"4-cbor\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Should accept the entity tag of any encoding as If-Match")
+    public void shouldAcceptTheEntityTagOfAnyEncodingAsIfMatch() throws Exception {
+        final long id = 1L;
+        final Tutorial tutorial = new Tutorial(id, "Tutorial 1", "Description 1", true, 5L);
+
+        when(tutorialService.updateTutorial(eq(id), any(Tutorial.class), eq(4L))).thenReturn(tutorial);
+
+        mockMvc.perform(put("/api/tutorials/" + id)
+                        .header(HttpHeaders.IF_MATCH, "W/\"4-cbor\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tutorial)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"5\""));
+    }
+
     @Test
     @DisplayName("Should create tutorial")
     public void shouldCreateTutorial() throws Exception {
@@ -96,6 +254,21 @@ public class TutorialControllerTests {
                 .andExpect(content().json(objectMapper.writeValueAsString(tutorial)));
     }
 
+    @Test
+    @DisplayName("Should return precondition failed when updating a stale version")
+    public void shouldReturnPreconditionFailedWhenUpdatingAStaleVersion() throws Exception {
+        final long id = 1L;
+        final Tutorial tutorial = new Tutorial(id, "Tutorial 1", "Description 1", true);
+
+        when(tutorialService.updateTutorial(id, tutorial, 2L)).thenThrow(new PreconditionFailedException("stale"));
+
+        mockMvc.perform(put("/api/tutorials/" + id)
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tutorial)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     @DisplayName("Should delete tutorial by id")
     public void shouldDeleteTutorialById() throws Exception {
@@ -113,6 +286,32 @@ public class TutorialControllerTests {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @DisplayName("Should create a batch of tutorials")
+    public void shouldCreateBatchOfTutorials() throws Exception {
+        final List<Tutorial> tutorials = List.of(
+                new Tutorial(1L, "Tutorial 1", "Description 1", true),
+                new Tutorial(2L, "Tutorial 2", "Description 2", false)
+        );
+
+        when(tutorialService.createTutorials(tutorials)).thenReturn(tutorials);
+
+        mockMvc.perform(post("/api/tutorials/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tutorials)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.size()").value(tutorials.size()));
+    }
+
+    @Test
+    @DisplayName("Should delete a batch of tutorials")
+    public void shouldDeleteBatchOfTutorials() throws Exception {
+        mockMvc.perform(delete("/api/tutorials/batch?ids=1,2"))
+                .andExpect(status().isNoContent());
+
+        verify(tutorialService, times(1)).deleteTutorials(List.of(1L, 2L));
+    }
+
     @Test
     @DisplayName("Should return list of published tutorials")
     public void shouldReturnListOfPublishedTutorials() throws Exception {
@@ -128,4 +327,97 @@ public class TutorialControllerTests {
                 .andExpect(content().json(objectMapper.writeValueAsString(tutorials)))
                 .andExpect(jsonPath("$.size()").value(tutorials.size()));
     }
+
+    @Test
+    @DisplayName("Should return tutorial summaries")
+    public void shouldReturnTutorialSummaries() throws Exception {
+        final List<TutorialSummary> summaries = List.of(new TutorialSummary(1L, "Tutorial 1", true));
+
+        when(tutorialService.getTutorialSummaries(null, true)).thenReturn(summaries);
+
+        mockMvc.perform(get("/api/tutorials/summaries?published=true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Tutorial 1"))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should return only the selected fields")
+    public void shouldReturnOnlyTheSelectedFields() throws Exception {
+        when(tutorialService.getTutorialFields(List.of("id", "title"), null, null))
+                .thenReturn(List.of(Map.of("id", 1L, "title", "Tutorial 1")));
+
+        mockMvc.perform(get("/api/tutorials/summaries?fields=id,title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].published").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should return bad request when selecting an unknown field")
+    public void shouldReturnBadRequestWhenSelectingAnUnknownField() throws Exception {
+        when(tutorialService.getTutorialFields(List.of("secret"), null, null))
+                .thenThrow(new BadRequestException("Unknown field: secret"));
+
+        mockMvc.perform(get("/api/tutorials/summaries?fields=secret"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should patch a tutorial")
+    public void shouldPatchATutorial() throws Exception {
+        final TutorialPatch tutorialPatch = new TutorialPatch(null, null, true);
+
+        mockMvc.perform(patch("/api/tutorials/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"published\":true}"))
+                .andExpect(status().isNoContent());
+
+        verify(tutorialService, times(1)).patchTutorial(1L, tutorialPatch);
+    }
+
+    @Test
+    @DisplayName("Should return not found when patching a tutorial that does not exist")
+    public void shouldReturnNotFoundWhenPatchingATutorialThatDoesNotExist() throws Exception {
+        doThrow(new ResourceNotFoundException("Tutorial not found with id: 1"))
+                .when(tutorialService).patchTutorial(eq(1L), any());
+
+        mockMvc.perform(patch("/api/tutorials/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Tutorial 1\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return the number of published tutorials")
+    public void shouldReturnTheNumberOfPublishedTutorials() throws Exception {
+        when(tutorialService.updatePublished(List.of(1L, 2L), null, true)).thenReturn(2);
+
+        mockMvc.perform(post("/api/tutorials/publish?ids=1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2));
+    }
+
+    @Test
+    @DisplayName("Should return the number of unpublished tutorials")
+    public void shouldReturnTheNumberOfUnpublishedTutorials() throws Exception {
+        when(tutorialService.updatePublished(null, "Spring", false)).thenReturn(3);
+
+        mockMvc.perform(post("/api/tutorials/unpublish?title=Spring"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(3));
+    }
+
+    @Test
+    @DisplayName("Should return a problem detail when a tutorial does not exist")
+    public void shouldReturnAProblemDetailWhenATutorialDoesNotExist() throws Exception {
+        when(tutorialService.getTutorialById(42L)).thenThrow(new ResourceNotFoundException("Tutorial not found with id: 42"));
+
+        mockMvc.perform(get("/api/tutorials/42"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.detail").value("Tutorial not found with id: 42"))
+                .andExpect(jsonPath("$.instance").value("/api/tutorials/42"));
+    }
 }
@@ -0,0 +1,82 @@
+package com.zoola.tutorial.controller;
+
+import com.zoola.tutorial.export.TutorialExporter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest({TutorialExportController.class})
+public class TutorialExportControllerTests {
+
+    private static final String ROW = "{\"id\":1,\"title\":\"Tut#1\"}\n";
+
+    @MockBean
+    private TutorialExporter exporter;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should reject an unknown export format")
+    public void shouldRejectAnUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/tutorials/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(exporter);
+    }
+
+    @Test
+    @DisplayName("Should gzip the export when asked for")
+    public void shouldGzipTheExportWhenAskedFor() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(ROW.getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(exporter).export(eq(TutorialExporter.Format.NDJSON), any());
+
+        MvcResult result = mockMvc.perform(get("/api/tutorials/export").param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tutorials.ndjson\""));
+
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertThat(new String(body.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(ROW);
+        }
+    }
+
+    @Test
+    @DisplayName("Should give the export its own async timeout")
+    public void shouldGiveTheExportItsOwnTimeout() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tutorials/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofHours(1).toMillis());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+}
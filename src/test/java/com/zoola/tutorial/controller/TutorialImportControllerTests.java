@@ -0,0 +1,72 @@
+package com.zoola.tutorial.controller;
+
+import com.zoola.tutorial.ingest.TutorialImporter;
+import com.zoola.tutorial.model.ImportSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = TutorialImportController.class)
+public class TutorialImportControllerTests {
+
+    private static final String NDJSON = "{\"title\": \"Tut#1\"}\n{\"title\": \"Tut#2\"}\n";
+
+    @MockBean
+    private TutorialImporter importer;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should import tutorials and summarize the outcome")
+    public void shouldImportTutorialsAndSummarizeTheOutcome() throws Exception {
+        when(importer.importTutorials(any(InputStream.class))).thenAnswer(invocation -> summarize(invocation.getArgument(0)));
+
+        mockMvc.perform(post("/api/tutorials/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.rejected").value(0))
+                .andExpect(jsonPath("$.chunks").value(1));
+    }
+
+    @Test
+    @DisplayName("Should decompress a gzipped import")
+    public void shouldDecompressAGzippedImport() throws Exception {
+        when(importer.importTutorials(any(InputStream.class))).thenAnswer(invocation -> summarize(invocation.getArgument(0)));
+
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(NDJSON.getBytes(StandardCharsets.UTF_8));
+        }
+
+        mockMvc.perform(post("/api/tutorials/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content(gzipped.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(2));
+    }
+
+    // counts the lines the importer was handed, so the test sees what reached it after decoding
+    private static ImportSummary summarize(final InputStream input) throws Exception {
+        long lines = new String(input.readAllBytes(), StandardCharsets.UTF_8).lines().count();
+        return new ImportSummary(lines, 0, 1);
+    }
+}
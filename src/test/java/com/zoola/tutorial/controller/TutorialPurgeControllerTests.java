@@ -0,0 +1,74 @@
+package com.zoola.tutorial.controller;
+
+import com.zoola.tutorial.model.PurgeStatus;
+import com.zoola.tutorial.purge.TutorialPurgeJob;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = TutorialPurgeController.class)
+public class TutorialPurgeControllerTests {
+
+    @MockBean
+    private TutorialPurgeJob purgeJob;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should start a purge and point at its status")
+    public void shouldStartAPurgeAndPointAtItsStatus() throws Exception {
+        when(purgeJob.start()).thenReturn(purgeStatus(PurgeStatus.State.RUNNING, 0));
+
+        mockMvc.perform(post("/api/tutorials/purge"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "http://localhost/api/tutorials/purge/abc"))
+                .andExpect(jsonPath("$.jobId").value("abc"))
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+    }
+
+    @Test
+    @DisplayName("Should report the progress of a purge")
+    public void shouldReportTheProgressOfAPurge() throws Exception {
+        when(purgeJob.status("abc")).thenReturn(Optional.of(purgeStatus(PurgeStatus.State.RUNNING, 4)));
+
+        mockMvc.perform(get("/api/tutorials/purge/abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.chunksDone").value(4))
+                .andExpect(jsonPath("$.chunksTotal").value(10));
+    }
+
+    @Test
+    @DisplayName("Should cancel a purge")
+    public void shouldCancelAPurge() throws Exception {
+        when(purgeJob.cancel("abc")).thenReturn(Optional.of(purgeStatus(PurgeStatus.State.CANCELLING, 4)));
+
+        mockMvc.perform(delete("/api/tutorials/purge/abc"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.state").value("CANCELLING"));
+    }
+
+    @Test
+    @DisplayName("Should return not found for an unknown purge")
+    public void shouldReturnNotFoundForAnUnknownPurge() throws Exception {
+        when(purgeJob.status("unknown")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/tutorials/purge/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    private static PurgeStatus purgeStatus(final PurgeStatus.State state, final long chunksDone) {
+        return new PurgeStatus("abc", state, chunksDone * 1000, chunksDone, 10, Instant.now(), null, null);
+    }
+}
@@ -0,0 +1,82 @@
+package com.zoola.tutorial.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoola.tutorial.exception.TooManyRequestsException;
+import com.zoola.tutorial.ingest.TutorialWriteBehindQueue;
+import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.model.WriteStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = TutorialWriteBehindController.class, properties = "tutorial.write-behind.enabled=true")
+public class TutorialWriteBehindControllerTests {
+
+    @MockBean
+    private TutorialWriteBehindQueue writeBehindQueue;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should accept a tutorial and point at its status")
+    public void shouldAcceptATutorialAndPointAtItsStatus() throws Exception {
+        when(writeBehindQueue.submit(any(Tutorial.class))).thenReturn(WriteStatus.queued("abc"));
+
+        mockMvc.perform(post("/api/tutorials/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Tutorial("Tutorial 1", "Description 1", true))))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "http://localhost/api/tutorials/async/abc"))
+                .andExpect(jsonPath("$.trackingId").value("abc"))
+                .andExpect(jsonPath("$.state").value("QUEUED"));
+    }
+
+    @Test
+    @DisplayName("Should return too many requests when the queue is full")
+    public void shouldReturnTooManyRequestsWhenTheQueueIsFull() throws Exception {
+        when(writeBehindQueue.submit(any(Tutorial.class))).thenThrow(new TooManyRequestsException("Write queue is full", 1));
+
+        mockMvc.perform(post("/api/tutorials/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Tutorial("Tutorial 1", "Description 1", true))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    @Test
+    @DisplayName("Should return the status of an accepted tutorial")
+    public void shouldReturnTheStatusOfAnAcceptedTutorial() throws Exception {
+        when(writeBehindQueue.status("abc")).thenReturn(Optional.of(WriteStatus.completed("abc", 42L)));
+
+        mockMvc.perform(get("/api/tutorials/async/abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("COMPLETED"))
+                .andExpect(jsonPath("$.tutorialId").value(42));
+    }
+
+    @Test
+    @DisplayName("Should return not found for an unknown tracking id")
+    public void shouldReturnNotFoundForAnUnknownTrackingId() throws Exception {
+        when(writeBehindQueue.status("abc")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/tutorials/async/abc"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,43 @@
+package com.zoola.tutorial.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProblemTemplateTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should render a problem detail for the status")
+    public void shouldRenderAProblemDetailForTheStatus() throws Exception {
+        JsonNode problem = objectMapper.readTree(new ProblemTemplate(HttpStatus.NOT_FOUND)
+                .render("Tutorial not found with id: 42", "/api/tutorials/42"));
+
+        assertThat(problem.get("type").asText()).isEqualTo("about:blank");
+        assertThat(problem.get("title").asText()).isEqualTo("Not Found");
+        assertThat(problem.get("status").asInt()).isEqualTo(404);
+        assertThat(problem.get("detail").asText()).isEqualTo("Tutorial not found with id: 42");
+        assertThat(problem.get("instance").asText()).isEqualTo("/api/tutorials/42");
+    }
+
+    @Test
+    @DisplayName("Should escape quotes and control characters in detail and instance")
+    public void shouldEscapeQuotesAndControlCharacters() throws Exception {
+        JsonNode problem = objectMapper.readTree(new ProblemTemplate(HttpStatus.NOT_FOUND)
+                .render("No write found with tracking id: \"a\"\n\\b", "/api/tutorials/async/\"a\""));
+
+        assertThat(problem.get("detail").asText()).isEqualTo("No write found with tracking id: \"a\"\n\\b");
+        assertThat(problem.get("instance").asText()).isEqualTo("/api/tutorials/async/\"a\"");
+    }
+
+    @Test
+    @DisplayName("Should not fill in a stack trace for a missing resource")
+    public void shouldNotFillInAStackTraceForAMissingResource() {
+        assertThat(new ResourceNotFoundException("Tutorial not found with id: 42").getStackTrace()).isEmpty();
+    }
+}
@@ -0,0 +1,84 @@
+package com.zoola.tutorial.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoola.tutorial.exception.BadRequestException;
+import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.repository.TutorialRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest
+public class TutorialExporterTests {
+
+    @Autowired
+    TutorialRepository tutorialRepository;
+
+    @Autowired
+    DataSource dataSource;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private TutorialExporter exporter;
+    private List<Tutorial> tutorials;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new TutorialExporter(dataSource, objectMapper, 2, 1);
+        tutorials = tutorialRepository.saveAllAndFlush(List.of(
+                new Tutorial("Tut#1", "Plain", true),
+                new Tutorial("Tut, \"quoted\"", "Two\nlines", false),
+                new Tutorial("Tut#3", null, true)));
+    }
+
+    @Test
+    @DisplayName("Should export every tutorial as CSV with quoted fields")
+    public void should_export_every_tutorial_as_csv_with_quoted_fields() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = exporter.export(TutorialExporter.Format.CSV, output);
+
+        assertThat(rows).isEqualTo(3);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,title,description,published,version\n"
+                        + tutorials.get(0).getId() + ",Tut#1,Plain,true,0\n"
+                        + tutorials.get(1).getId() + ",\"Tut, \"\"quoted\"\"\",\"Two\nlines\",false,0\n"
+                        + tutorials.get(2).getId() + ",Tut#3,,true,0\n");
+    }
+
+    @Test
+    @DisplayName("Should export every tutorial as one JSON object per line")
+    public void should_export_every_tutorial_as_one_json_object_per_line() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = exporter.export(TutorialExporter.Format.NDJSON, output);
+
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(rows).isEqualTo(3);
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readTree(lines.get(1)).get("title").asText()).isEqualTo("Tut, \"quoted\"");
+        assertThat(objectMapper.readTree(lines.get(1)).get("description").asText()).isEqualTo("Two\nlines");
+        assertThat(objectMapper.readTree(lines.get(2)).get("description").isNull()).isTrue();
+        assertThat(objectMapper.readTree(lines.get(0)).get("id").asLong()).isEqualTo(tutorials.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown export format")
+    public void should_reject_an_unknown_export_format() {
+        assertThrows(BadRequestException.class, () -> TutorialExporter.Format.of("xml"));
+        assertThat(TutorialExporter.Format.of("csv")).isEqualTo(TutorialExporter.Format.CSV);
+    }
+}
@@ -0,0 +1,102 @@
+package com.zoola.tutorial.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoola.tutorial.exception.BadRequestException;
+import com.zoola.tutorial.model.ImportSummary;
+import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.service.TutorialService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class TutorialImporterTests {
+
+    private final TutorialService tutorialService = mock(TutorialService.class);
+    private final TutorialImporter importer = new TutorialImporter(tutorialService, new ObjectMapper(), 2);
+    private final List<List<String>> chunks = new ArrayList<>();
+
+    @Test
+    @DisplayName("Should import a JSON array in chunks")
+    public void shouldImportAJsonArrayInChunks() throws IOException {
+        recordChunks();
+
+        ImportSummary summary = importer.importTutorials(input("""
+                [{"title": "Tut#1", "description": "Desc#1", "published": true},
+                 {"title": "Tut#2", "description": "Desc#2"},
+                 {"id": 42, "title": "Tut#3", "description": "Desc#3"}]
+                """));
+
+        assertThat(summary).isEqualTo(new ImportSummary(3, 0, 2));
+        assertThat(chunks).containsExactly(List.of("Tut#1", "Tut#2"), List.of("Tut#3"));
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON and reject entries that are not tutorials")
+    public void shouldImportNdjsonAndRejectEntriesThatAreNotTutorials() throws IOException {
+        recordChunks();
+
+        ImportSummary summary = importer.importTutorials(input("""
+                {"title": "Tut#1", "description": "Desc#1", "published": true}
+                42
+                {"title": "Tut#2", "published": "maybe"}
+
+                {"title": "Tut#3", "description": "Desc#3"}
+                """));
+
+        assertThat(summary).isEqualTo(new ImportSummary(2, 2, 1));
+        assertThat(chunks).containsExactly(List.of("Tut#1", "Tut#3"));
+    }
+
+    @Test
+    @DisplayName("Should fall back to writing one by one when a chunk fails")
+    public void shouldFallBackToWritingOneByOneWhenAChunkFails() throws IOException {
+        when(tutorialService.createTutorials(anyList())).thenThrow(new IllegalStateException("constraint violated"));
+        when(tutorialService.createTutorial(any(Tutorial.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new IllegalStateException("constraint violated"));
+
+        ImportSummary summary = importer.importTutorials(input("""
+                [{"title": "Tut#1"}, {"title": "Tut#2"}]
+                """));
+
+        assertThat(summary).isEqualTo(new ImportSummary(1, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Should report how far a malformed import got")
+    public void shouldReportHowFarAMalformedImportGot() {
+        recordChunks();
+
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> importer.importTutorials(input("""
+                [{"title": "Tut#1"}, {"title": "Tut#2"}, {"title": "Tut#3"
+                """)));
+
+        assertThat(exception.getMessage()).contains("after 2 tutorials were imported");
+        assertThat(chunks).containsExactly(List.of("Tut#1", "Tut#2"));
+    }
+
+    // the importer reuses its chunk list, so the titles are copied when the chunk is written
+    private void recordChunks() {
+        when(tutorialService.createTutorials(anyList())).thenAnswer(invocation -> {
+            List<Tutorial> chunk = invocation.getArgument(0);
+            chunks.add(chunk.stream().map(Tutorial::getTitle).toList());
+            return List.copyOf(chunk);
+        });
+    }
+
+    private static InputStream input(final String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,131 @@
+package com.zoola.tutorial.ingest;
+
+import com.zoola.tutorial.exception.TooManyRequestsException;
+import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.model.WriteStatus;
+import com.zoola.tutorial.service.TutorialService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class TutorialWriteBehindQueueTests {
+
+    private final TutorialService tutorialService = mock(TutorialService.class);
+    private final AtomicLong ids = new AtomicLong();
+
+    private TutorialWriteBehindQueue writeBehindQueue;
+
+    @AfterEach
+    void tearDown() {
+        if (writeBehindQueue.isRunning()) {
+            writeBehindQueue.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should write accepted tutorials in one batch and report their ids")
+    public void shouldWriteAcceptedTutorialsInOneBatch() {
+        writeBehindQueue = queue(10);
+        when(tutorialService.createTutorials(anyList())).thenAnswer(invocation -> withIds(invocation.getArgument(0)));
+
+        writeBehindQueue.start();
+        WriteStatus first = writeBehindQueue.submit(new Tutorial("Tut#1", "Desc#1", true));
+        WriteStatus second = writeBehindQueue.submit(new Tutorial("Tut#2", "Desc#2", false));
+        writeBehindQueue.stop();
+
+        assertThat(first.state()).isEqualTo(WriteStatus.State.QUEUED);
+        assertThat(writeBehindQueue.status(first.trackingId()).orElseThrow().state()).isEqualTo(WriteStatus.State.COMPLETED);
+        assertThat(writeBehindQueue.status(second.trackingId()).orElseThrow().tutorialId()).isNotNull();
+        verify(tutorialService, never()).createTutorial(any());
+    }
+
+    @Test
+    @DisplayName("Should reject tutorials with too many requests once the queue is full")
+    public void shouldRejectTutorialsOnceTheQueueIsFull() {
+        writeBehindQueue = queue(1);
+        // keep the writer busy so the queue fills up behind it
+        when(tutorialService.createTutorials(anyList())).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            return withIds(invocation.getArgument(0));
+        });
+
+        writeBehindQueue.start();
+        writeBehindQueue.submit(new Tutorial("Tut#1", "Desc#1", true));
+        await(() -> writeBehindQueue.queued() == 0);
+        writeBehindQueue.submit(new Tutorial("Tut#2", "Desc#2", true));
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> writeBehindQueue.submit(new Tutorial("Tut#3", "Desc#3", true)));
+        assertThat(exception.getRetryAfterSeconds()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should fall back to single writes so only the bad tutorial fails")
+    public void shouldFallBackToSingleWritesSoOnlyTheBadTutorialFails() {
+        writeBehindQueue = queue(10);
+        when(tutorialService.createTutorials(anyList())).thenThrow(new IllegalArgumentException("title too long"));
+        when(tutorialService.createTutorial(any())).thenAnswer(invocation -> {
+            Tutorial tutorial = invocation.getArgument(0);
+            if (tutorial.getTitle().equals("bad")) {
+                throw new IllegalArgumentException("title too long");
+            }
+            return withIds(List.of(tutorial)).get(0);
+        });
+
+        writeBehindQueue.start();
+        WriteStatus good = writeBehindQueue.submit(new Tutorial("good", "Desc#1", true));
+        WriteStatus bad = writeBehindQueue.submit(new Tutorial("bad", "Desc#2", true));
+        writeBehindQueue.stop();
+
+        assertThat(writeBehindQueue.status(good.trackingId()).orElseThrow().state()).isEqualTo(WriteStatus.State.COMPLETED);
+        assertThat(writeBehindQueue.status(bad.trackingId()).orElseThrow())
+                .hasFieldOrPropertyWithValue("state", WriteStatus.State.FAILED)
+                .hasFieldOrPropertyWithValue("error", "title too long");
+    }
+
+    @Test
+    @DisplayName("Should drain queued tutorials on stop and reject new ones")
+    public void shouldDrainQueuedTutorialsOnStopAndRejectNewOnes() {
+        writeBehindQueue = queue(100);
+        when(tutorialService.createTutorials(anyList())).thenAnswer(invocation -> withIds(invocation.getArgument(0)));
+
+        writeBehindQueue.start();
+        for (int i = 0; i < 50; i++) {
+            writeBehindQueue.submit(new Tutorial("Tut#" + i, "Desc#" + i, true));
+        }
+        writeBehindQueue.stop();
+
+        assertThat(writeBehindQueue.queued()).isZero();
+        assertThat(ids.get()).isEqualTo(50);
+        assertThrows(TooManyRequestsException.class, () -> writeBehindQueue.submit(new Tutorial("Tut", "Desc", true)));
+    }
+
+    private TutorialWriteBehindQueue queue(final int capacity) {
+        return new TutorialWriteBehindQueue(
+                tutorialService, new SimpleMeterRegistry(), capacity, 500, Duration.ofSeconds(5), Duration.ofMinutes(1));
+    }
+
+    private List<Tutorial> withIds(final List<Tutorial> tutorials) {
+        tutorials.forEach(tutorial -> tutorial.setId(ids.incrementAndGet()));
+        return tutorials;
+    }
+
+    private static void await(final BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.zoola.tutorial.purge;
+
+import com.zoola.tutorial.model.PurgeStatus;
+import com.zoola.tutorial.repository.TutorialRepository;
+import com.zoola.tutorial.service.TutorialService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class TutorialPurgeJobTests {
+
+    private final TutorialRepository tutorialRepository = mock(TutorialRepository.class);
+    private final TutorialService tutorialService = mock(TutorialService.class);
+    private final Set<Long> ids = new ConcurrentSkipListSet<>();
+    private final TutorialPurgeJob purgeJob = new TutorialPurgeJob(
+            tutorialRepository, tutorialService, 2, 10, 1_000_000, Duration.ofMinutes(1));
+
+    @AfterEach
+    void tearDown() {
+        purgeJob.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should delete every id range and report the purge completed")
+    public void shouldDeleteEveryIdRangeAndReportThePurgeCompleted() {
+        table(1, 25);
+
+        PurgeStatus started = purgeJob.start();
+        PurgeStatus finished = awaitFinished(started.jobId());
+
+        assertThat(finished)
+                .hasFieldOrPropertyWithValue("state", PurgeStatus.State.COMPLETED)
+                .hasFieldOrPropertyWithValue("deleted", 25L)
+                .hasFieldOrPropertyWithValue("chunksDone", 3L)
+                .hasFieldOrPropertyWithValue("chunksTotal", 3L);
+        assertThat(finished.finishedAt()).isNotNull();
+        assertThat(ids).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should count only the rows it deleted itself")
+    public void shouldCountOnlyTheRowsItDeletedItself() {
+        table(1, 25);
+        // another request deletes a row of each chunk between the purge reading its ids and deleting them
+        doAnswer(invocation -> {
+            Collection<Long> chunk = invocation.getArgument(0);
+            ids.remove(chunk.iterator().next());
+            return delete(chunk);
+        }).when(tutorialService).deleteTutorials(anyCollection());
+
+        PurgeStatus finished = awaitFinished(purgeJob.start().jobId());
+
+        assertThat(finished)
+                .hasFieldOrPropertyWithValue("state", PurgeStatus.State.COMPLETED)
+                .hasFieldOrPropertyWithValue("deleted", 22L);
+        assertThat(ids).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should complete at once when there is nothing to purge")
+    public void shouldCompleteAtOnceWhenThereIsNothingToPurge() {
+        when(tutorialRepository.findMinId()).thenReturn(Optional.empty());
+        when(tutorialRepository.findMaxId()).thenReturn(Optional.empty());
+
+        PurgeStatus finished = awaitFinished(purgeJob.start().jobId());
+
+        assertThat(finished.state()).isEqualTo(PurgeStatus.State.COMPLETED);
+        assertThat(finished.chunksTotal()).isZero();
+        verify(tutorialService, never()).deleteTutorials(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should return the running purge instead of starting another and stop it when cancelled")
+    public void shouldReturnTheRunningPurgeAndStopItWhenCancelled() throws InterruptedException {
+        table(1, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return delete(invocation.getArgument(0));
+        }).when(tutorialService).deleteTutorials(anyCollection());
+
+        PurgeStatus started = purgeJob.start();
+        assertThat(purgeJob.start().jobId()).isEqualTo(started.jobId());
+
+        assertThat(purgeJob.cancel(started.jobId()).orElseThrow().state()).isEqualTo(PurgeStatus.State.CANCELLING);
+        release.countDown();
+        PurgeStatus finished = awaitFinished(started.jobId());
+
+        assertThat(finished.state()).isEqualTo(PurgeStatus.State.CANCELLED);
+        assertThat(finished.chunksDone()).isLessThan(finished.chunksTotal());
+        assertThat(ids).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report a failed purge with its error")
+    public void shouldReportAFailedPurgeWithItsError() {
+        table(1, 25);
+        doThrow(new IllegalStateException("lock timeout")).when(tutorialService).deleteTutorials(anyCollection());
+
+        PurgeStatus finished = awaitFinished(purgeJob.start().jobId());
+
+        assertThat(finished)
+                .hasFieldOrPropertyWithValue("state", PurgeStatus.State.FAILED)
+                .hasFieldOrPropertyWithValue("error", "lock timeout");
+        assertThat(purgeJob.status("unknown")).isEmpty();
+    }
+
+    // a table with the ids first to last that the mocked repository and service read and delete from
+    private void table(final long first, final long last) {
+        LongStream.rangeClosed(first, last).forEach(ids::add);
+        when(tutorialRepository.findMinId()).thenReturn(Optional.of(first));
+        when(tutorialRepository.findMaxId()).thenReturn(Optional.of(last));
+        when(tutorialRepository.findIdsBetween(anyLong(), anyLong())).thenAnswer(invocation -> {
+            long from = invocation.getArgument(0);
+            long to = invocation.getArgument(1);
+            return ids.stream().filter(id -> id >= from && id <= to).toList();
+        });
+        doAnswer(invocation -> delete(invocation.getArgument(0))).when(tutorialService).deleteTutorials(anyCollection());
+    }
+
+    // the rows of the table the mocked service removes, like the delete statement's update count
+    private int delete(final Collection<Long> deleted) {
+        return (int) deleted.stream().filter(ids::remove).count();
+    }
+
+    private PurgeStatus awaitFinished(final String jobId) {
+        await(() -> !purgeJob.status(jobId).orElseThrow().state().isActive());
+        return purgeJob.status(jobId).orElseThrow();
+    }
+
+    private static void await(final BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
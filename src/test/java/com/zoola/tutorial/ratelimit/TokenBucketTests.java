@@ -0,0 +1,66 @@
+package com.zoola.tutorial.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenBucketTests {
+
+    private final AtomicLong clock = new AtomicLong(1_000L);
+
+    @Test
+    @DisplayName("Should allow a burst and then one permit per interval")
+    public void shouldAllowABurstAndThenOnePermitPerInterval() {
+        TokenBucket bucket = new TokenBucket(10, 3, clock::get);
+
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should refill up to the burst and no further")
+    public void shouldRefillUpToTheBurstAndNoFurther() {
+        TokenBucket bucket = new TokenBucket(10, 2, clock::get);
+        bucket.tryAcquire(2);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        assertThat(bucket.availablePermits()).isEqualTo(2.0);
+        assertThat(bucket.tryAcquire(2)).isZero();
+        assertThat(bucket.tryAcquire()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should not hand out more than the burst to concurrent callers")
+    public void shouldNotHandOutMoreThanTheBurstToConcurrentCallers() throws Exception {
+        TokenBucket bucket = new TokenBucket(0.001, 100, clock::get);
+        AtomicInteger acquired = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1_000; i++) {
+            executor.execute(() -> {
+                if (bucket.tryAcquire() == 0) {
+                    acquired.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertThat(acquired.get()).isEqualTo(100);
+    }
+}
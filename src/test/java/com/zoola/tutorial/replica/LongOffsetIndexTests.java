@@ -0,0 +1,66 @@
+package com.zoola.tutorial.replica;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LongOffsetIndexTests {
+
+    @Test
+    @DisplayName("Should return the latest offset put for an id")
+    public void shouldReturnTheLatestOffsetPutForAnId() {
+        LongOffsetIndex index = new LongOffsetIndex(16);
+
+        index.put(1L, 16L);
+        index.put(2L, 64L);
+        index.put(1L, 128L);
+
+        assertThat(index.get(1L)).isEqualTo(128L);
+        assertThat(index.get(2L)).isEqualTo(64L);
+        assertThat(index.get(3L)).isEqualTo(LongOffsetIndex.MISSING);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should behave like a map through growth and removals")
+    public void shouldBehaveLikeAMapThroughGrowthAndRemovals() {
+        LongOffsetIndex index = new LongOffsetIndex(16);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            long id = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                index.remove(id);
+                expected.remove(id);
+            } else {
+                index.put(id, i);
+                expected.put(id, (long) i);
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(expected.size());
+        for (long id = 0; id < 5_000; id++) {
+            assertThat(index.get(id)).isEqualTo(expected.getOrDefault(id, LongOffsetIndex.MISSING));
+        }
+    }
+
+    @Test
+    @DisplayName("Should visit every entry once")
+    public void shouldVisitEveryEntryOnce() {
+        LongOffsetIndex index = new LongOffsetIndex(16);
+        index.put(7L, 70L);
+        index.put(8L, 80L);
+        index.remove(7L);
+
+        Map<Long, Long> visited = new HashMap<>();
+        index.forEach(visited::put);
+
+        assertThat(visited).containsExactlyEntriesOf(Map.of(8L, 80L));
+    }
+}
@@ -0,0 +1,142 @@
+package com.zoola.tutorial.replica;
+
+import com.zoola.tutorial.web.RateLimitInterceptor;
+import com.zoola.tutorial.web.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class TutorialReplicaFilterTests {
+
+    private static final byte[] JSON = "{\"id\":1,\"title\":\"Tut#1\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final TutorialReplica replica = mock(TutorialReplica.class);
+
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<RateLimitInterceptor> rateLimitInterceptor = mock(ObjectProvider.class);
+
+    private final TutorialReplicaFilter filter = new TutorialReplicaFilter(replica, rateLimitInterceptor);
+
+    @BeforeEach
+    void setUp() {
+        when(replica.isReady()).thenReturn(true);
+        when(replica.get(1L)).thenReturn(new TutorialReplica.Entry(1L, 3L, true, JSON));
+        when(replica.published()).thenReturn(new TutorialReplica.Published(("[" + new String(JSON, StandardCharsets.UTF_8) + "]")
+                .getBytes(StandardCharsets.UTF_8), 1, "W/\"1-abc\""));
+    }
+
+    @Test
+    @DisplayName("Should answer a tutorial held by the replica without calling the controller")
+    public void shouldAnswerATutorialHeldByTheReplica() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(get("/api/tutorials/1"), response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("W/\"3\"");
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT);
+        assertThat(response.getContentAsByteArray()).isEqualTo(JSON);
+    }
+
+    @Test
+    @DisplayName("Should pass a tutorial the replica does not hold on to the controller")
+    public void shouldPassAMissOnToTheController() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(get("/api/tutorials/2"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should pass every request on to the controller while the replica is not ready")
+    public void shouldPassEveryRequestOnWhileNotReady() throws Exception {
+        when(replica.isReady()).thenReturn(false);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(get("/api/tutorials/1"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        verify(replica, never()).get(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should answer 304 when the client holds the current version")
+    public void shouldAnswerNotModifiedForTheCurrentVersion() throws Exception {
+        MockHttpServletRequest request = get("/api/tutorials/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"3\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(response.getContentLength()).isZero();
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT);
+    }
+
+    @Test
+    @DisplayName("Should answer 304 for the published list the client already holds")
+    public void shouldAnswerNotModifiedForThePublishedList() throws Exception {
+        MockHttpServletRequest request = get("/api/tutorials/published");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"1-abc\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+    }
+
+    @Test
+    @DisplayName("Should leave a client that does not take JSON to content negotiation in the controller")
+    public void shouldLeaveNonJsonClientsToTheController() throws Exception {
+        for (String accept : new String[]{"application/cbor", "application/x-jackson-smile", "text/csv", "application/json;q=0.5, application/cbor"}) {
+            MockHttpServletRequest request = get("/api/tutorials/1");
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+            assertThat(chain.getRequest()).as(accept).isNotNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply the rate limit of the endpoint it answers for")
+    public void shouldApplyTheRateLimitOfTheEndpoint() throws Exception {
+        when(rateLimitInterceptor.getIfAvailable()).thenReturn(new RateLimitInterceptor(
+                new RateLimitProperties(true, 1000, 100, 1000, Duration.ofMinutes(1),
+                        Map.of(TutorialReplicaFilter.TUTORIAL_BY_ID_ENDPOINT, new RateLimitProperties.Limit(0.01, 1))),
+                new SimpleMeterRegistry()));
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        filter.doFilter(get("/api/tutorials/1"), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(get("/api/tutorials/1"), rejected, new MockFilterChain());
+
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(rejected.getContentLength()).isZero();
+    }
+
+    private static MockHttpServletRequest get(final String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+}
@@ -0,0 +1,269 @@
+package com.zoola.tutorial.replica;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoola.tutorial.changes.TutorialChangedEvent;
+import com.zoola.tutorial.model.CollectionVersion;
+import com.zoola.tutorial.model.TableVersion;
+import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.repository.TutorialRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class TutorialReplicaTests {
+
+    private final TutorialRepository tutorialRepository = mock(TutorialRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    private TutorialReplica replica;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        replica = open(DataSize.ofKilobytes(64));
+    }
+
+    @Test
+    @DisplayName("Should serve a written tutorial as its JSON")
+    public void shouldServeAWrittenTutorialAsItsJson() throws Exception {
+        Tutorial tutorial = new Tutorial(1L, "Spring Boot", "Desc#1", true, 3L);
+        when(tutorialRepository.findAllById(List.of(1L))).thenReturn(List.of(tutorial));
+
+        replica.onTutorialChanged(TutorialChangedEvent.created(List.of(1L)));
+
+        TutorialReplica.Entry entry = replica.get(1L);
+        assertThat(entry.version()).isEqualTo(3L);
+        assertThat(entry.published()).isTrue();
+        assertThat(objectMapper.readTree(entry.json()).get("title").asText()).isEqualTo("Spring Boot");
+        assertThat(objectMapper.readTree(entry.json()).get("version").asLong()).isEqualTo(3L);
+        assertThat(replica.get(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should serve the latest version of an updated tutorial and nothing for a deleted one")
+    public void shouldServeTheLatestVersionAndNothingForADeletedOne() {
+        when(tutorialRepository.findAllById(List.of(1L)))
+                .thenReturn(List.of(new Tutorial(1L, "Tut#1", "Desc#1", false, 0L)))
+                .thenReturn(List.of(new Tutorial(1L, "Tut#1 updated", "Desc#1", false, 1L)));
+        when(tutorialRepository.findAllById(List.of(2L)))
+                .thenReturn(List.of(new Tutorial(2L, "Tut#2", "Desc#2", false, 0L)));
+
+        replica.onTutorialChanged(TutorialChangedEvent.created(List.of(1L)));
+        replica.onTutorialChanged(TutorialChangedEvent.created(List.of(2L)));
+        replica.onTutorialChanged(TutorialChangedEvent.updated(List.of(1L)));
+        replica.onTutorialChanged(TutorialChangedEvent.deleted(List.of(2L)));
+
+        assertThat(replica.get(1L).version()).isEqualTo(1L);
+        assertThat(replica.get(2L)).isNull();
+        assertThat(replica.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the newer version when an older one arrives late")
+    public void shouldKeepTheNewerVersionWhenAnOlderOneArrivesLate() {
+        when(tutorialRepository.findAllById(List.of(1L)))
+                .thenReturn(List.of(new Tutorial(1L, "Tut#1 updated", "Desc#1", false, 2L)))
+                .thenReturn(List.of(new Tutorial(1L, "Tut#1", "Desc#1", false, 1L)));
+
+        replica.onTutorialChanged(TutorialChangedEvent.updated(List.of(1L)));
+        replica.onTutorialChanged(TutorialChangedEvent.updated(List.of(1L)));
+
+        assertThat(replica.get(1L).version()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should not bring back a deleted tutorial for a late write")
+    public void shouldNotBringBackADeletedTutorialForALateWrite() {
+        when(tutorialRepository.findAllById(List.of(1L)))
+                .thenReturn(List.of(new Tutorial(1L, "Tut#1", "Desc#1", true, 5L)));
+
+        replica.onTutorialChanged(TutorialChangedEvent.deleted(List.of(1L)));
+        replica.onTutorialChanged(TutorialChangedEvent.updated(List.of(1L)));
+
+        assertThat(replica.get(1L)).isNull();
+        assertThat(replica.size()).isZero();
+        assertThat(replica.published().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should rebuild in the background and keep the writes made meanwhile")
+    public void shouldRebuildInTheBackgroundAndKeepTheWritesMadeMeanwhile() throws Exception {
+        CountDownLatch batchRead = new CountDownLatch(1);
+        CountDownLatch writeApplied = new CountDownLatch(1);
+        when(tutorialRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenAnswer(invocation -> {
+            batchRead.countDown();
+            writeApplied.await(5, TimeUnit.SECONDS);
+            return List.of(new Tutorial(1L, "Tut#1", "Desc#1", true, 1L), new Tutorial(2L, "Tut#2", "Desc#2", true, 0L));
+        });
+        when(tutorialRepository.findAllById(List.of(1L)))
+                .thenReturn(List.of(new Tutorial(1L, "Tut#1 updated", "Desc#1", true, 2L)));
+
+        replica.onTutorialChanged(TutorialChangedEvent.invalidated());
+        assertThat(batchRead.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(replica.isReady()).isFalse();
+
+        replica.onTutorialChanged(TutorialChangedEvent.updated(List.of(1L)));
+        replica.onTutorialChanged(TutorialChangedEvent.deleted(List.of(2L)));
+        writeApplied.countDown();
+        awaitReady(replica);
+
+        assertThat(replica.get(1L).version()).isEqualTo(2L);
+        assertThat(replica.get(2L)).isNull();
+        assertThat(replica.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should rebuild a file that has as many rows as the database but older versions")
+    public void shouldRebuildAFileWithOlderVersions() throws Exception {
+        when(tutorialRepository.findAllById(List.of(1L)))
+                .thenReturn(List.of(new Tutorial(1L, "Tut#1", "Desc#1", true, 0L)));
+        replica.onTutorialChanged(TutorialChangedEvent.created(List.of(1L)));
+        replica.close();
+
+        TutorialReplica reopened = open(DataSize.ofKilobytes(64));
+        when(tutorialRepository.findTableVersion()).thenReturn(new TableVersion(1L, 1L, 1L));
+        when(tutorialRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any()))
+                .thenReturn(List.of(new Tutorial(1L, "Tut#1 updated", "Desc#1", true, 1L)));
+        reopened.start();
+        awaitReady(reopened);
+
+        assertThat(reopened.get(1L).version()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should list published tutorials in id order with the collection entity tag")
+    public void shouldListPublishedTutorialsInIdOrder() throws Exception {
+        when(tutorialRepository.findAllById(List.of(3L, 1L, 2L))).thenReturn(List.of(
+                new Tutorial(3L, "Tut#3", "Desc#3", true, 2L),
+                new Tutorial(1L, "Tut#1", "Desc#1", true, 1L),
+                new Tutorial(2L, "Tut#2", "Desc#2", false, 0L)));
+
+        replica.onTutorialChanged(TutorialChangedEvent.created(List.of(3L, 1L, 2L)));
+
+        TutorialReplica.Published published = replica.published();
+        Tutorial[] tutorials = objectMapper.readValue(published.json(), Tutorial[].class);
+        assertThat(tutorials).extracting(Tutorial::getId).containsExactly(1L, 3L);
+        assertThat(published.etag()).isEqualTo(CollectionVersion.of(List.of(
+                new Tutorial(1L, "Tut#1", "Desc#1", true, 1L),
+                new Tutorial(3L, "Tut#3", "Desc#3", true, 2L))).etag());
+    }
+
+    @Test
+    @DisplayName("Should reopen its file without asking the database for rows")
+    public void shouldReopenItsFileWithoutAskingTheDatabaseForRows() throws Exception {
+        when(tutorialRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(
+                new Tutorial(1L, "Tut#1", "Desc#1", true, 0L),
+                new Tutorial(2L, "Tut#2", "Desc#2", true, 0L)));
+        replica.onTutorialChanged(TutorialChangedEvent.created(List.of(1L, 2L)));
+        replica.onTutorialChanged(TutorialChangedEvent.deleted(List.of(1L)));
+        replica.close();
+
+        TutorialReplica reopened = open(DataSize.ofKilobytes(64));
+        when(tutorialRepository.findTableVersion()).thenReturn(new TableVersion(1L, 2L, 0L));
+        reopened.start();
+
+        assertThat(reopened.isReady()).isTrue();
+        assertThat(reopened.get(1L)).isNull();
+        assertThat(new String(reopened.get(2L).json(), StandardCharsets.UTF_8)).contains("Tut#2");
+        verify(tutorialRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should compact the file instead of running out of space")
+    public void shouldCompactTheFileInsteadOfRunningOutOfSpace() throws Exception {
+        TutorialReplica small = open(DataSize.ofKilobytes(4));
+        when(tutorialRepository.findTableVersion()).thenReturn(new TableVersion(0L, 0L, 0L));
+        small.start();
+        when(tutorialRepository.findAllById(List.of(1L)))
+                .thenAnswer(invocation -> List.of(new Tutorial(1L, "Tut#1", "Desc#1", true, System.nanoTime())));
+
+        for (int i = 0; i < 1_000; i++) {
+            small.onTutorialChanged(TutorialChangedEvent.updated(List.of(1L)));
+        }
+
+        assertThat(small.isReady()).isTrue();
+        assertThat(small.size()).isEqualTo(1);
+        assertThat(objectMapper.readValue(small.get(1L).json(), Tutorial.class).getTitle()).isEqualTo("Tut#1");
+    }
+
+    @Test
+    @DisplayName("Should reopen a file compacted after a rebuild")
+    public void shouldReopenAFileCompactedAfterARebuild() throws Exception {
+        TutorialReplica small = open(DataSize.ofKilobytes(4));
+        when(tutorialRepository.findTableVersion()).thenReturn(new TableVersion(1L, 1L, 0L));
+        when(tutorialRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any()))
+                .thenReturn(List.of(new Tutorial(1L, "Tut#1", "Desc#1", true, 0L)));
+        small.start();
+        awaitReady(small);
+        when(tutorialRepository.findAllById(List.of(1L)))
+                .thenAnswer(invocation -> List.of(new Tutorial(1L, "Tut#1", "Desc#1", true, System.nanoTime())));
+        for (int i = 0; i < 100; i++) {
+            small.onTutorialChanged(TutorialChangedEvent.updated(List.of(1L)));
+        }
+        long version = small.get(1L).version();
+        small.close();
+
+        TutorialReplica reopened = open(DataSize.ofKilobytes(4));
+        when(tutorialRepository.findTableVersion()).thenReturn(new TableVersion(1L, 1L, version));
+        reopened.start();
+
+        assertThat(reopened.isReady()).isTrue();
+        assertThat(reopened.get(1L).version()).isEqualTo(version);
+        assertThat(directory.resolve("replica-4096.dat.compact")).doesNotExist();
+    }
+
+    @Test
+    @Timeout(10)
+    @DisplayName("Should discard a file with a damaged record and rebuild it from the database")
+    public void shouldDiscardADamagedFileAndRebuildIt() throws Exception {
+        when(tutorialRepository.findAllById(List.of(1L)))
+                .thenReturn(List.of(new Tutorial(1L, "Tut#1", "Desc#1", true, 0L)));
+        replica.onTutorialChanged(TutorialChangedEvent.created(List.of(1L)));
+        replica.close();
+        try (FileChannel channel = FileChannel.open(directory.resolve("replica-65536.dat"), StandardOpenOption.WRITE)) {
+            // a zero length where the first record starts
+            channel.write(ByteBuffer.allocate(4), 16);
+        }
+
+        TutorialReplica reopened = open(DataSize.ofKilobytes(64));
+        when(tutorialRepository.findTableVersion()).thenReturn(new TableVersion(1L, 1L, 0L));
+        when(tutorialRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any()))
+                .thenReturn(List.of(new Tutorial(1L, "Tut#1", "Desc#1", true, 0L)));
+        reopened.start();
+        awaitReady(reopened);
+
+        assertThat(reopened.get(1L).version()).isZero();
+    }
+
+    private static void awaitReady(final TutorialReplica replica) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!replica.isReady() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(replica.isReady()).isTrue();
+    }
+
+    private TutorialReplica open(final DataSize size) throws Exception {
+        TutorialReplica replica = new TutorialReplica(
+                tutorialRepository, objectMapper, directory.resolve("replica-" + size.toBytes() + ".dat"), size);
+        replica.open();
+        return replica;
+    }
+}
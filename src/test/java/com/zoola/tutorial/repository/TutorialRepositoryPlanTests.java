@@ -0,0 +1,72 @@
+package com.zoola.tutorial.repository;
+
+import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs each hot query through the repository, then asks H2 for the plan of the exact SQL Hibernate sent
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = SqlStatementCounter.PROPERTY)
+public class TutorialRepositoryPlanTests {
+
+    @Autowired
+    TutorialRepository tutorialRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        tutorialRepository.saveAllAndFlush(List.of(
+                new Tutorial("Tut1 title", "Tut1 desc", true),
+                new Tutorial("Tut2 title", "Tut2 desc", false),
+                new Tutorial("Tut3 title", "Tut3 desc", true)));
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    @DisplayName("Should find published tutorials through the published index")
+    public void should_find_published_tutorials_through_the_published_index() {
+        tutorialRepository.findByPublished(true);
+
+        assertThat(explain(SqlStatementCounter.lastSelect(), true))
+                .containsIgnoringCase("idx_tutorials_published")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    @DisplayName("Should compute the published collection version from the published index")
+    public void should_compute_the_published_collection_version_from_the_published_index() {
+        tutorialRepository.findPublishedVersion();
+
+        assertThat(explain(SqlStatementCounter.lastSelect()))
+                .containsIgnoringCase("idx_tutorials_published")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    @DisplayName("Should order by title through the title index")
+    public void should_order_by_title_through_the_title_index() {
+        tutorialRepository.findAll(Sort.by("title"));
+
+        assertThat(explain(SqlStatementCounter.lastSelect()))
+                .containsIgnoringCase("idx_tutorials_title")
+                .containsIgnoringCase("index sorted");
+    }
+
+    private String explain(final String sql, final Object... args) {
+        assertThat(sql).as("statement sent by Hibernate").isNotNull();
+        return jdbcTemplate.queryForObject("explain " + sql, String.class, args);
+    }
+}
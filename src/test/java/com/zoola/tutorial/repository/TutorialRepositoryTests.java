@@ -1,17 +1,27 @@
 package com.zoola.tutorial.repository;
 
+import com.zoola.tutorial.model.CollectionVersion;
 import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.model.TutorialSummary;
+import com.zoola.tutorial.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.zoola.tutorial.support.SqlStatementCounter.*;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
-@DataJpaTest
+@DataJpaTest(properties = SqlStatementCounter.PROPERTY)
 public class TutorialRepositoryTests {
 
     @Autowired
@@ -20,6 +30,11 @@ public class TutorialRepositoryTests {
     @Autowired
     private TestEntityManager entityManager;
 
+    @BeforeEach
+    void setUp() {
+        SqlStatementCounter.reset();
+    }
+
     @Test
     @DisplayName("Should find no tutorials if repository is empty")
     public void should_find_no_tutorials_if_repository_is_empty() {
@@ -103,6 +118,84 @@ public class TutorialRepositoryTests {
         assertThat(tutorials).hasSize(2).contains(tut1, tut3);
     }
 
+    @Test
+    @DisplayName("Should find tutorials after the given id in id order")
+    public void should_find_tutorials_after_the_given_id_in_id_order() {
+        Tutorial tut1 = new Tutorial("Tut1 title", "Tut1 desc", true);
+        entityManager.persist(tut1);
+
+        Tutorial tut2 = new Tutorial("Tut2 title", "Tut2 desc", false);
+        entityManager.persist(tut2);
+
+        Tutorial tut3 = new Tutorial("Tut3 title", "Tut3 desc", true);
+        entityManager.persist(tut3);
+
+        List<Tutorial> tutorials = tutorialRepository.findByIdGreaterThanOrderByIdAsc(tut1.getId(), Limit.of(1));
+
+        assertThat(tutorials).containsExactly(tut2);
+    }
+
+    @Test
+    @DisplayName("Should stream all tutorials in id order")
+    public void should_stream_all_tutorials_in_id_order() {
+        Tutorial tut1 = new Tutorial("Tut1 title", "Tut1 desc", true);
+        entityManager.persist(tut1);
+
+        Tutorial tut2 = new Tutorial("Tut2 title", "Tut2 desc", false);
+        entityManager.persist(tut2);
+        entityManager.flush();
+        entityManager.clear();
+
+        try (Stream<Tutorial> tutorials = tutorialRepository.streamAllByOrderByIdAsc()) {
+            assertThat(tutorials.map(Tutorial::getId)).containsExactly(tut1.getId(), tut2.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Should find the version of a tutorial by id")
+    public void should_find_the_version_of_a_tutorial_by_id() {
+        Tutorial tut1 = new Tutorial("Tut1 title", "Tut1 desc", true);
+        entityManager.persist(tut1);
+
+        assertThat(tutorialRepository.findVersionById(tut1.getId())).contains(0L);
+        assertThat(tutorialRepository.findVersionById(tut1.getId() + 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should compute the published collection version like the published list does")
+    public void should_compute_the_published_collection_version() {
+        entityManager.persist(new Tutorial("Tut1 title", "Tut1 desc", true));
+        entityManager.persist(new Tutorial("Tut2 title", "Tut2 desc", false));
+        entityManager.persist(new Tutorial("Tut3 title", "Tut3 desc", true));
+
+        CollectionVersion version = tutorialRepository.findPublishedVersion();
+
+        assertThat(version.etag()).isEqualTo(CollectionVersion.of(tutorialRepository.findByPublished(true)).etag());
+        assertThat(version.count()).isEqualTo(2L);
+        assertThat(version.etag()).startsWith("W/");
+    }
+
+    @Test
+    @DisplayName("Should change the published collection version when a delete and an update would cancel out")
+    public void should_change_the_published_collection_version_when_a_delete_and_an_update_cancel_out() {
+        Tutorial tut1 = entityManager.persist(new Tutorial("Tut1 title", "Tut1 desc", true));
+        Tutorial tut2 = entityManager.persist(new Tutorial("Tut2 title", "Tut2 desc", false));
+        entityManager.persist(new Tutorial("Tut3 title", "Tut3 desc", true));
+        tut1.setTitle("Tut1 updated");
+        entityManager.flush();
+
+        String before = tutorialRepository.findPublishedVersion().etag();
+
+        // a published v1 row goes away while a v0 row is published and becomes v1: count, max(id) and sum(version)
+        // are all unchanged
+        entityManager.remove(tut1);
+        tut2.setPublished(true);
+        entityManager.flush();
+
+        assertThat(tut2.getVersion()).isEqualTo(1L);
+        assertThat(tutorialRepository.findPublishedVersion().etag()).isNotEqualTo(before);
+    }
+
     @Test
     @DisplayName("Should update tutorial by id")
     public void should_update_tutorial_by_id() {
@@ -157,4 +250,199 @@ public class TutorialRepositoryTests {
 
         assertThat(tutorialRepository.findAll()).isEmpty();
     }
+
+    @Test
+    @DisplayName("Should find a tutorial by id with a single select")
+    public void should_find_a_tutorial_by_id_with_a_single_select() {
+        Tutorial tut1 = entityManager.persistFlushFind(new Tutorial("Tut1 title", "Tut1 desc", true));
+        entityManager.clear();
+        SqlStatementCounter.reset();
+
+        tutorialRepository.findById(tut1.getId());
+
+        assertSelectCount(1);
+    }
+
+    @Test
+    @DisplayName("Should find published tutorials with a single select")
+    public void should_find_published_tutorials_with_a_single_select() {
+        entityManager.persist(new Tutorial("Tut1 title", "Tut1 desc", true));
+        entityManager.persist(new Tutorial("Tut2 title", "Tut2 desc", false));
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+
+        tutorialRepository.findByPublished(true);
+
+        assertSelectCount(1);
+    }
+
+    @Test
+    @DisplayName("Should update a loaded tutorial with a single update")
+    public void should_update_a_loaded_tutorial_with_a_single_update() {
+        Tutorial tut1 = entityManager.persistFlushFind(new Tutorial("Tut1 title", "Tut1 desc", true));
+        entityManager.clear();
+        SqlStatementCounter.reset();
+
+        Tutorial tut = tutorialRepository.findById(tut1.getId()).get();
+        tut.setTitle("updated Tut1 title");
+        tutorialRepository.save(tut);
+        entityManager.flush();
+
+        assertSelectCount(1);
+        assertUpdateCount(1);
+    }
+
+    @Test
+    @DisplayName("Should delete all tutorials with a single delete and no select")
+    public void should_delete_all_tutorials_with_a_single_delete() {
+        entityManager.persist(new Tutorial("Tut1 title", "Tut1 desc", true));
+        entityManager.persist(new Tutorial("Tut2 title", "Tut2 desc", false));
+        entityManager.flush();
+        SqlStatementCounter.reset();
+
+        tutorialRepository.deleteAllInBatch();
+
+        assertSelectCount(0);
+        assertDeleteCount(1);
+    }
+
+    @Test
+    @DisplayName("Should find tutorial summaries with a single select")
+    public void should_find_tutorial_summaries_with_a_single_select() {
+        Tutorial tut1 = new Tutorial("Tut#1", "Desc#1", true);
+        entityManager.persist(tut1);
+
+        Tutorial tut2 = new Tutorial("Tut#2", "Desc#2", false);
+        entityManager.persist(tut2);
+
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+
+        List<TutorialSummary> summaries = tutorialRepository.findSummaries(null, true);
+
+        assertThat(summaries).containsExactly(new TutorialSummary(tut1.getId(), "Tut#1", true));
+        assertSelectCount(1);
+    }
+
+    @Test
+    @DisplayName("Should find only the selected fields")
+    public void should_find_only_the_selected_fields() {
+        Tutorial tut1 = new Tutorial("Spring Boot", "Desc#1", true);
+        entityManager.persist(tut1);
+
+        Tutorial tut2 = new Tutorial("Java", "Desc#2", true);
+        entityManager.persist(tut2);
+
+        List<Map<String, Object>> rows = tutorialRepository.findFields(List.of("title", "id"), "Spring", null);
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)).containsOnlyKeys("title", "id");
+        assertThat(rows.get(0).get("id")).isEqualTo(tut1.getId());
+    }
+
+    @Test
+    @DisplayName("Should match wildcard characters in the title filter literally")
+    public void should_match_wildcard_characters_in_the_title_filter_literally() {
+        Tutorial tut1 = new Tutorial("100% Spring", "Desc#1", true);
+        entityManager.persist(tut1);
+
+        Tutorial tut2 = new Tutorial("1000 Springs", "Desc#2", true);
+        entityManager.persist(tut2);
+
+        assertThat(tutorialRepository.findSummaries("0% S", null))
+                .extracting(TutorialSummary::id)
+                .containsExactly(tut1.getId());
+        assertThat(tutorialRepository.findFields(List.of("id"), "1_0", null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should patch only the supplied fields without loading the tutorial")
+    public void should_patch_only_the_supplied_fields() {
+        Tutorial tut1 = entityManager.persistFlushFind(new Tutorial("Tut#1", "Desc#1", false));
+        SqlStatementCounter.reset();
+
+        int updated = tutorialRepository.patchById(tut1.getId(), null, null, true);
+
+        assertThat(updated).isEqualTo(1);
+        assertSelectCount(0);
+        assertUpdateCount(1);
+
+        Tutorial tut = tutorialRepository.findById(tut1.getId()).get();
+        assertThat(tut).hasFieldOrPropertyWithValue("title", "Tut#1")
+                .hasFieldOrPropertyWithValue("description", "Desc#1")
+                .hasFieldOrPropertyWithValue("published", true)
+                .hasFieldOrPropertyWithValue("version", tut1.getVersion() + 1);
+    }
+
+    @Test
+    @DisplayName("Should not patch a tutorial that does not exist")
+    public void should_not_patch_a_tutorial_that_does_not_exist() {
+        assertThat(tutorialRepository.patchById(-1L, "Tut#1", null, null)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should publish only unpublished tutorials matching the title")
+    public void should_publish_only_unpublished_tutorials_matching_the_title() {
+        entityManager.persist(new Tutorial("Spring Boot", "Desc#1", false));
+        entityManager.persist(new Tutorial("Spring Data", "Desc#2", true));
+        entityManager.persist(new Tutorial("Java", "Desc#3", false));
+        entityManager.flush();
+
+        int updated = tutorialRepository.updatePublishedByTitleContaining("Spring", true);
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(tutorialRepository.findByPublished(true)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should match wildcard characters in the publish title filter literally")
+    public void should_match_wildcard_characters_in_the_publish_title_filter_literally() {
+        entityManager.persist(new Tutorial("100% Spring", "Desc#1", false));
+        entityManager.persist(new Tutorial("1000 Springs", "Desc#2", false));
+        entityManager.flush();
+
+        assertThat(tutorialRepository.updatePublishedByTitleContaining("%", true)).isEqualTo(1);
+        assertThat(tutorialRepository.updatePublishedByTitleContaining("_", true)).isZero();
+        assertThat(tutorialRepository.findByPublished(true))
+                .extracting(Tutorial::getTitle)
+                .containsExactly("100% Spring");
+    }
+
+    @Test
+    @DisplayName("Should unpublish tutorials by id")
+    public void should_unpublish_tutorials_by_id() {
+        Tutorial tut1 = new Tutorial("Tut#1", "Desc#1", true);
+        entityManager.persist(tut1);
+
+        Tutorial tut2 = new Tutorial("Tut#2", "Desc#2", true);
+        entityManager.persist(tut2);
+
+        entityManager.flush();
+
+        int updated = tutorialRepository.updatePublishedByIdIn(List.of(tut1.getId()), false);
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(tutorialRepository.findByPublished(true)).containsExactly(tut2);
+    }
+
+    @Test
+    @DisplayName("Should count only the tutorials a delete by ids actually removed")
+    public void should_count_only_the_tutorials_a_delete_by_ids_removed() {
+        Tutorial tut1 = new Tutorial("Tut#1", "Desc#1", true);
+        entityManager.persist(tut1);
+
+        Tutorial tut2 = new Tutorial("Tut#2", "Desc#2", false);
+        entityManager.persist(tut2);
+
+        entityManager.flush();
+        SqlStatementCounter.reset();
+
+        int deleted = tutorialRepository.deleteByIdIn(List.of(tut1.getId(), tut2.getId() + 1000));
+
+        assertThat(deleted).isEqualTo(1);
+        assertDeleteCount(1);
+        assertThat(tutorialRepository.findAll()).containsExactly(tut2);
+    }
 }
@@ -0,0 +1,101 @@
+package com.zoola.tutorial.search;
+
+import com.zoola.tutorial.model.Tutorial;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TutorialSearchIndexTests {
+
+    private final TutorialSearchIndex searchIndex = new TutorialSearchIndex();
+
+    @Test
+    @DisplayName("Should find tutorials whose title contains the query regardless of case")
+    public void shouldFindTutorialsWhoseTitleContainsTheQuery() {
+        searchIndex.index(new Tutorial(1L, "Spring Boot Tut1", "Tut1 desc", true));
+        searchIndex.index(new Tutorial(2L, "Java Tut2", "Tut2 desc", false));
+        searchIndex.index(new Tutorial(3L, "Spring Data JPA Tut3", "Tut3 desc", true));
+
+        TutorialSearchIndex.Hits hits = searchIndex.search("RING", 0, 10);
+
+        assertThat(hits.ids()).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(hits.total()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should rank title matches before description matches")
+    public void shouldRankTitleMatchesBeforeDescriptionMatches() {
+        searchIndex.index(new Tutorial(1L, "Java Tut1", "Learn spring basics", true));
+        searchIndex.index(new Tutorial(2L, "Advanced Spring", "Tut2 desc", true));
+        searchIndex.index(new Tutorial(3L, "Spring", "Tut3 desc", true));
+
+        TutorialSearchIndex.Hits hits = searchIndex.search("spring", 0, 10);
+
+        assertThat(hits.ids()).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should page through ranked results")
+    public void shouldPageThroughRankedResults() {
+        searchIndex.index(new Tutorial(1L, "Spring 1", "desc", true));
+        searchIndex.index(new Tutorial(2L, "Spring 2", "desc", true));
+        searchIndex.index(new Tutorial(3L, "Spring 3", "desc", true));
+
+        TutorialSearchIndex.Hits hits = searchIndex.search("spring", 2, 2);
+
+        assertThat(hits.ids()).containsExactly(3L);
+        assertThat(hits.total()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should forget the old title when a tutorial is re-indexed or removed")
+    public void shouldForgetTheOldTitleWhenReindexedOrRemoved() {
+        searchIndex.index(new Tutorial(1L, "Spring Tut1", "Tut1 desc", true));
+        searchIndex.index(new Tutorial(2L, "Spring Tut2", "Tut2 desc", true));
+
+        searchIndex.index(new Tutorial(1L, "Java Tut1", "Tut1 desc", true));
+        searchIndex.remove(2L);
+
+        assertThat(searchIndex.search("spring", 0, 10).ids()).isEmpty();
+        assertThat(searchIndex.search("java", 0, 10).ids()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should patch only the given fields of an indexed tutorial")
+    public void shouldPatchOnlyTheGivenFieldsOfAnIndexedTutorial() {
+        searchIndex.index(new Tutorial(1L, "Spring Boot", "Web applications", true));
+
+        searchIndex.patch(1L, "Quarkus", null);
+
+        assertThat(searchIndex.search("spring", 0, 10).ids()).isEmpty();
+        assertThat(searchIndex.search("quarkus", 0, 10).ids()).containsExactly(1L);
+        assertThat(searchIndex.search("web app", 0, 10).ids()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should answer terms shorter than a trigram from word prefixes")
+    public void shouldAnswerShortTermsFromWordPrefixes() {
+        searchIndex.index(new Tutorial(1L, "Java Basics", "Tut1 desc", true));
+        searchIndex.index(new Tutorial(2L, "Ninja Tricks", "Tut2 desc", true));
+        searchIndex.index(new Tutorial(3L, "Spring", "Learn jakarta", true));
+
+        assertThat(searchIndex.search("ja", 0, 10).ids()).containsExactly(1L, 3L);
+        assertThat(searchIndex.search("J", 0, 10).ids()).containsExactly(1L, 3L);
+        assertThat(searchIndex.search("xy", 0, 10).ids()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep only the best hits of the requested page and still count every hit")
+    public void shouldKeepOnlyTheBestHitsAndCountEveryHit() {
+        // indexed out of id order so the posting lists take inserts as well as appends
+        for (long id = 200; id >= 1; id--) {
+            searchIndex.index(new Tutorial(id, id % 2 == 0 ? "Spring " + id : "Java " + id, "desc spring", true));
+        }
+
+        TutorialSearchIndex.Hits hits = searchIndex.search("spring", 5, 3);
+
+        assertThat(hits.total()).isEqualTo(200);
+        assertThat(hits.ids()).containsExactly(12L, 14L, 16L);
+    }
+}
@@ -0,0 +1,81 @@
+package com.zoola.tutorial.service;
+
+import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.repository.TutorialRepository;
+import com.zoola.tutorial.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import static com.zoola.tutorial.support.SqlStatementCounter.*;
+
+@SpringBootTest(properties = SqlStatementCounter.PROPERTY)
+public class TutorialServiceStatementCountTests {
+
+    @Autowired
+    private TutorialService tutorialService;
+
+    @Autowired
+    private TutorialRepository tutorialRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        tutorialRepository.deleteAllInBatch();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    @DisplayName("Should read a tutorial by id from the database only once")
+    public void shouldReadATutorialByIdFromTheDatabaseOnlyOnce() {
+        Tutorial tutorial = tutorialRepository.save(new Tutorial("Tut title 1", "Tut desc 1", true));
+        SqlStatementCounter.reset();
+
+        tutorialService.getTutorialById(tutorial.getId());
+        tutorialService.getTutorialById(tutorial.getId());
+
+        assertSelectCount(1);
+    }
+
+    @Test
+    @DisplayName("Should update a tutorial with one select and one update")
+    public void shouldUpdateATutorialWithOneSelectAndOneUpdate() {
+        Tutorial tutorial = tutorialRepository.save(new Tutorial("Tut title 1", "Tut desc 1", true));
+        SqlStatementCounter.reset();
+
+        tutorialService.updateTutorial(tutorial.getId(), new Tutorial("Tut title 1 updated", "Tut desc 1", false));
+
+        assertSelectCount(1);
+        assertUpdateCount(1);
+    }
+
+    @Test
+    @DisplayName("Should read published tutorials from the database only once")
+    public void shouldReadPublishedTutorialsFromTheDatabaseOnlyOnce() {
+        tutorialRepository.save(new Tutorial("Tut title 1", "Tut desc 1", true));
+        SqlStatementCounter.reset();
+
+        tutorialService.findByPublished();
+        tutorialService.findByPublished();
+
+        assertSelectCount(1);
+    }
+
+    @Test
+    @DisplayName("Should delete all tutorials with a single statement")
+    public void shouldDeleteAllTutorialsWithASingleStatement() {
+        tutorialRepository.save(new Tutorial("Tut title 1", "Tut desc 1", true));
+        tutorialRepository.save(new Tutorial("Tut title 2", "Tut desc 2", false));
+        SqlStatementCounter.reset();
+
+        tutorialService.deleteAll();
+
+        assertSelectCount(0);
+        assertDeleteCount(1);
+    }
+}
@@ -1,17 +1,34 @@
 package com.zoola.tutorial.service;
 
+import com.zoola.tutorial.changes.TutorialChangedEvent;
+import com.zoola.tutorial.config.CacheConfig;
+import com.zoola.tutorial.exception.BadRequestException;
+import com.zoola.tutorial.exception.PreconditionFailedException;
 import com.zoola.tutorial.exception.ResourceNotFoundException;
 import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.model.TutorialPage;
+import com.zoola.tutorial.model.TutorialPatch;
+import com.zoola.tutorial.model.TutorialSearchPage;
+import com.zoola.tutorial.model.TutorialSummary;
 import com.zoola.tutorial.repository.TutorialRepository;
+import com.zoola.tutorial.search.TutorialSearchIndex;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,6 +41,18 @@ public class TutorialServiceTests {
     @Mock
     private TutorialRepository tutorialRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TutorialSearchIndex searchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private TutorialService tutorialService;
 
@@ -59,6 +88,63 @@ public class TutorialServiceTests {
         assertThat(tutorials).hasSize(1);
     }
 
+    @Test
+    @DisplayName("Should return a keyset page with a cursor to the next page")
+    public void shouldReturnAKeysetPageWithNextCursor() {
+        final List<Tutorial> tutorials = List.of(
+                new Tutorial(1L, "title1", "description1", true),
+                new Tutorial(2L, "title2", "description2", false),
+                new Tutorial(3L, "title3", "description3", true)
+        );
+
+        when(tutorialRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3))).thenReturn(tutorials);
+
+        final TutorialPage page = tutorialService.getTutorialPage(null, null, 2);
+
+        assertThat(page.content()).hasSize(2).containsExactly(tutorials.get(0), tutorials.get(1));
+        assertThat(page.next()).isEqualTo(TutorialService.encodeCursor(2L));
+    }
+
+    @Test
+    @DisplayName("Should resume a keyset page after the id in the cursor")
+    public void shouldResumeAKeysetPageAfterTheCursor() {
+        final String title = "title";
+        final List<Tutorial> tutorials = List.of(new Tutorial(3L, "title3", "description3", true));
+
+        when(tutorialRepository.findByTitleContainingAndIdGreaterThanOrderByIdAsc(title, 2L, Limit.of(3)))
+                .thenReturn(tutorials);
+
+        final TutorialPage page = tutorialService.getTutorialPage(title, TutorialService.encodeCursor(2L), 2);
+
+        assertThat(page.content()).containsExactly(tutorials.get(0));
+        assertThat(page.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should throw BadRequest exception when the cursor is not valid")
+    public void shouldThrowBadRequestWhenTheCursorIsNotValid() {
+        assertThrows(BadRequestException.class, () -> {
+            tutorialService.getTutorialPage(null, "not a cursor", 10);
+        });
+
+        verifyNoInteractions(tutorialRepository);
+    }
+
+    @Test
+    @DisplayName("Should return search results in the order ranked by the index")
+    public void shouldReturnSearchResultsInRankedOrder() {
+        final Tutorial tut1 = new Tutorial(1L, "Spring Data", "description1", true);
+        final Tutorial tut2 = new Tutorial(2L, "Spring Boot", "description2", false);
+
+        when(searchIndex.search("spring", 0, 20)).thenReturn(new TutorialSearchIndex.Hits(List.of(2L, 1L), 2));
+        when(tutorialRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(tut1, tut2));
+
+        final TutorialSearchPage page = tutorialService.searchTutorials("spring", 0, 20);
+
+        assertThat(page.content()).containsExactly(tut2, tut1);
+        assertThat(page.total()).isEqualTo(2);
+    }
+
     @Test
     @DisplayName("Should return a tutorial from the repository with the given id")
     public void shouldReturnATutorialFromRepositoryWithGivenId() {
@@ -89,11 +175,16 @@ public class TutorialServiceTests {
     @DisplayName("Should create a tutorial in the repository")
     public void shouldCreateATutorialInTheRepository() {
         final Tutorial tutorial = new Tutorial("Tut title 1", "Tut desc 1", true);
-        when(tutorialRepository.save(tutorial)).thenReturn(tutorial);
+        when(tutorialRepository.save(tutorial)).thenAnswer(invocation -> {
+            tutorial.setId(1L);
+            return tutorial;
+        });
 
         final Tutorial actual = tutorialService.createTutorial(tutorial);
 
         verify(tutorialRepository, times(1)).save(tutorial);
+        verify(searchIndex, times(1)).index(tutorial);
+        verify(eventPublisher, times(1)).publishEvent(TutorialChangedEvent.created(List.of(1L)));
         assertThat(actual).isEqualTo(tutorial);
     }
 
@@ -114,6 +205,26 @@ public class TutorialServiceTests {
         assertThat(actual).isEqualTo(tutorialInDb);
     }
 
+    @Test
+    @DisplayName("Should index an update only once its transaction commits")
+    public void shouldIndexAnUpdateOnlyOnceItsTransactionCommits() {
+        final long id = 1L;
+        final Tutorial tutorialInDb = new Tutorial(id, "Tut title 1", "Tut desc 1", true);
+        when(tutorialRepository.findById(id)).thenReturn(Optional.of(tutorialInDb));
+        when(tutorialRepository.save(tutorialInDb)).thenReturn(tutorialInDb);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tutorialService.updateTutorial(id, new Tutorial("Tut title 1 updated", "Tut desc 1", true));
+            verify(searchIndex, never()).index(any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(searchIndex, times(1)).index(tutorialInDb);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     @Test
     @DisplayName("Should throw ResourceNotFound exception when a tutorial with the given id does not exist when updating")
     public void shouldReturnNullWhenATutorialWithGivenIdDoesNotExistWhenUpdating() {
@@ -129,6 +240,21 @@ public class TutorialServiceTests {
         verify(tutorialRepository, times(1)).findById(id);
     }
 
+    @Test
+    @DisplayName("Should throw PreconditionFailed exception when updating a tutorial at another version")
+    public void shouldThrowPreconditionFailedWhenUpdatingATutorialAtAnotherVersion() {
+        final long id = 1L;
+        final Tutorial tutorial = new Tutorial("Tut title 1", "Tut desc 1", true);
+        final Tutorial tutorialInDb = new Tutorial(id, "Tut title 1", "Tut desc 1", true, 3L);
+        when(tutorialRepository.findById(id)).thenReturn(Optional.of(tutorialInDb));
+
+        assertThrows(PreconditionFailedException.class, () -> {
+            tutorialService.updateTutorial(id, tutorial, 2L);
+        });
+
+        verify(tutorialRepository, never()).save(any(Tutorial.class));
+    }
+
     @Test
     @DisplayName("Should delete a tutorial from the repository with the given id")
     public void shouldDeleteATutorialFromRepositoryWithGivenId() {
@@ -138,16 +264,81 @@ public class TutorialServiceTests {
         tutorialService.deleteById(id);
 
         verify(tutorialRepository, times(1)).deleteById(id);
+        verify(searchIndex, times(1)).remove(id);
+        verify(eventPublisher, times(1)).publishEvent(TutorialChangedEvent.deleted(List.of(id)));
     }
 
     @Test
     @DisplayName("Should delete all tutorials from the repository")
     public void shouldDeleteAllTutorialsFromRepository() {
-        doNothing().when(tutorialRepository).deleteAll();
+        doNothing().when(tutorialRepository).deleteAllInBatch();
 
         tutorialService.deleteAll();
 
-        verify(tutorialRepository, times(1)).deleteAll();
+        verify(tutorialRepository, times(1)).deleteAllInBatch();
+        verify(tutorialRepository, never()).deleteAll();
+        verify(eventPublisher, times(1)).publishEvent(TutorialChangedEvent.cleared());
+    }
+
+    @Test
+    @DisplayName("Should create a batch of tutorials in the repository")
+    public void shouldCreateABatchOfTutorialsInTheRepository() {
+        final Tutorial tut1 = new Tutorial("Tut title 1", "Tut desc 1", true);
+        final Tutorial tut2 = new Tutorial("Tut title 2", "Tut desc 2", false);
+        when(tutorialRepository.save(any(Tutorial.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        final List<Tutorial> actual = tutorialService.createTutorials(List.of(tut1, tut2));
+
+        verify(tutorialRepository, times(2)).save(any(Tutorial.class));
+        verify(searchIndex, times(1)).indexAll(actual);
+        assertThat(actual).containsExactly(tut1, tut2);
+    }
+
+    @Test
+    @DisplayName("Should update a batch of tutorials with a single lookup")
+    public void shouldUpdateABatchOfTutorialsWithASingleLookup() {
+        final Tutorial tut1InDb = new Tutorial(1L, "Tut title 1", "Tut desc 1", false);
+        final Tutorial tut2InDb = new Tutorial(2L, "Tut title 2", "Tut desc 2", false);
+        when(tutorialRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(tut1InDb, tut2InDb));
+
+        final List<Tutorial> actual = tutorialService.updateTutorials(List.of(
+                new Tutorial(1L, "Tut title 1 updated", "Tut desc 1", true),
+                new Tutorial(2L, "Tut title 2 updated", "Tut desc 2", true)
+        ));
+
+        verify(tutorialRepository, times(1)).findAllById(List.of(1L, 2L));
+        verify(tutorialRepository, never()).findById(anyLong());
+        assertThat(actual).extracting(Tutorial::getTitle).containsExactly("Tut title 1 updated", "Tut title 2 updated");
+        assertThat(actual).allMatch(Tutorial::isPublished);
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFound exception when a tutorial in a batch update does not exist")
+    public void shouldThrowResourceNotFoundWhenATutorialInABatchUpdateDoesNotExist() {
+        when(tutorialRepository.findAllById(List.of(1L))).thenReturn(List.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> {
+            tutorialService.updateTutorials(List.of(new Tutorial(1L, "Tut title 1", "Tut desc 1", true)));
+        });
+    }
+
+    @Test
+    @DisplayName("Should delete a batch of tutorials with one statement")
+    public void shouldDeleteABatchOfTutorialsWithOneStatement() {
+        final List<Long> ids = List.of(1L, 2L);
+        final Cache tutorials = mock(Cache.class);
+        when(tutorialRepository.deleteByIdIn(ids)).thenReturn(1);
+        when(cacheManager.getCache(CacheConfig.TUTORIALS)).thenReturn(tutorials);
+
+        final int deleted = tutorialService.deleteTutorials(ids);
+
+        assertThat(deleted).isEqualTo(1);
+        verify(tutorialRepository, times(1)).deleteByIdIn(ids);
+        verify(tutorials, times(1)).evict(1L);
+        verify(tutorials, times(1)).evict(2L);
+        verify(tutorials, never()).clear();
+        verify(searchIndex, times(1)).remove(1L);
+        verify(searchIndex, times(1)).remove(2L);
     }
 
     @Test
@@ -168,4 +359,87 @@ public class TutorialServiceTests {
         verify(tutorialRepository, times(1)).findByPublished(true);
         assertThat(actual).hasSize(2);
     }
+
+    @Test
+    @DisplayName("Should return tutorial summaries from the repository")
+    public void shouldReturnTutorialSummariesFromRepository() {
+        when(tutorialRepository.findSummaries("title", true))
+                .thenReturn(List.of(new TutorialSummary(1L, "title1", true)));
+
+        final List<TutorialSummary> actual = tutorialService.getTutorialSummaries("title", true);
+
+        verify(tutorialRepository, times(1)).findSummaries("title", true);
+        assertThat(actual).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should select each requested field once, in the requested order")
+    public void shouldSelectEachRequestedFieldOnce() {
+        when(tutorialRepository.findFields(any(), isNull(), isNull()))
+                .thenReturn(List.of(Map.of("title", "title1", "id", 1L)));
+
+        final List<Map<String, Object>> actual = tutorialService.getTutorialFields(List.of("title", " id", "title"), null, null);
+
+        verify(tutorialRepository, times(1)).findFields(argThat(fields -> List.copyOf(fields).equals(List.of("title", "id"))), isNull(), isNull());
+        assertThat(actual).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should throw bad request when selecting an unknown field")
+    public void shouldThrowBadRequestWhenSelectingAnUnknownField() {
+        assertThrows(BadRequestException.class, () -> tutorialService.getTutorialFields(List.of("id", "password"), null, null));
+
+        verify(tutorialRepository, never()).findFields(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should patch a tutorial with a single update statement")
+    public void shouldPatchATutorialWithASingleUpdateStatement() {
+        when(tutorialRepository.patchById(1L, "title1", null, null)).thenReturn(1);
+
+        tutorialService.patchTutorial(1L, new TutorialPatch("title1", null, null));
+
+        verify(tutorialRepository, never()).findById(anyLong());
+        verify(searchIndex, times(1)).patch(1L, "title1", null);
+    }
+
+    @Test
+    @DisplayName("Should throw resource not found when patching a tutorial that does not exist")
+    public void shouldThrowResourceNotFoundWhenPatchingATutorialThatDoesNotExist() {
+        when(tutorialRepository.patchById(1L, null, null, true)).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> tutorialService.patchTutorial(1L, new TutorialPatch(null, null, true)));
+
+        verify(searchIndex, never()).patch(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should throw bad request when a patch is empty")
+    public void shouldThrowBadRequestWhenAPatchIsEmpty() {
+        assertThrows(BadRequestException.class, () -> tutorialService.patchTutorial(1L, new TutorialPatch(null, null, null)));
+
+        verifyNoInteractions(tutorialRepository);
+    }
+
+    @Test
+    @DisplayName("Should publish tutorials by id or by title")
+    public void shouldPublishTutorialsByIdOrByTitle() {
+        when(tutorialRepository.updatePublishedByIdIn(List.of(1L, 2L), true)).thenReturn(2);
+        when(tutorialRepository.updatePublishedByTitleContaining("Spring", false)).thenReturn(3);
+
+        assertThat(tutorialService.updatePublished(List.of(1L, 2L), null, true)).isEqualTo(2);
+        assertThat(tutorialService.updatePublished(null, "Spring", false)).isEqualTo(3);
+
+        verify(eventPublisher, times(1)).publishEvent(TutorialChangedEvent.updated(List.of(1L, 2L)));
+        verify(eventPublisher, times(1)).publishEvent(TutorialChangedEvent.invalidated());
+    }
+
+    @Test
+    @DisplayName("Should throw bad request unless exactly one of ids and title is given")
+    public void shouldThrowBadRequestUnlessExactlyOneOfIdsAndTitleIsGiven() {
+        assertThrows(BadRequestException.class, () -> tutorialService.updatePublished(null, null, true));
+        assertThrows(BadRequestException.class, () -> tutorialService.updatePublished(List.of(1L), "Spring", true));
+
+        verifyNoInteractions(tutorialRepository);
+    }
 }
@@ -0,0 +1,59 @@
+package com.zoola.tutorial.startup;
+
+import com.zoola.tutorial.model.Tutorial;
+import com.zoola.tutorial.repository.TutorialRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class StartupSelfCheckTests {
+
+    private final TutorialRepository tutorialRepository = mock(TutorialRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should measure read throughput and connection acquire time")
+    public void shouldMeasureReadThroughputAndConnectionAcquireTime() throws Exception {
+        Timer acquire = meterRegistry.timer("hikaricp.connections.acquire");
+        when(tutorialRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(100)))
+                .thenReturn(List.of(new Tutorial(1L, "Tut#1", "Desc#1", true)));
+        when(tutorialRepository.findVersionById(anyLong())).thenAnswer(invocation -> {
+            acquire.record(Duration.ofMillis(2));
+            return Optional.of(0L);
+        });
+
+        StartupSelfCheck.Result result = selfCheck(0).measure();
+
+        assertThat(result.operations()).isPositive();
+        assertThat(result.opsPerSecond()).isPositive();
+        assertThat(result.meanAcquireMillis()).isEqualTo(2.0);
+        verify(tutorialRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should fail startup when throughput is below the minimum")
+    public void shouldFailStartupWhenThroughputIsBelowTheMinimum() {
+        when(tutorialRepository.findVersionById(anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return Optional.empty();
+        });
+
+        assertThrows(IllegalStateException.class, () -> selfCheck(1_000_000).run(new DefaultApplicationArguments()));
+    }
+
+    private StartupSelfCheck selfCheck(final double minimumOpsPerSecond) {
+        return new StartupSelfCheck(tutorialRepository, meterRegistry, Duration.ofMillis(200), 2, minimumOpsPerSecond);
+    }
+}
@@ -0,0 +1,68 @@
+package com.zoola.tutorial.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Registered with hibernate.session_factory.statement_inspector, Hibernate creates the instance so the counts are static
+public class SqlStatementCounter implements StatementInspector {
+
+    public static final String PROPERTY =
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.zoola.tutorial.support.SqlStatementCounter";
+
+    private static final AtomicInteger SELECTS = new AtomicInteger();
+    private static final AtomicInteger INSERTS = new AtomicInteger();
+    private static final AtomicInteger UPDATES = new AtomicInteger();
+    private static final AtomicInteger DELETES = new AtomicInteger();
+    private static final AtomicReference<String> LAST_SELECT = new AtomicReference<>();
+
+    @Override
+    public String inspect(final String sql) {
+        final String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+
+        if (statement.startsWith("select") || statement.startsWith("with")) {
+            SELECTS.incrementAndGet();
+            LAST_SELECT.set(sql);
+        } else if (statement.startsWith("insert")) {
+            INSERTS.incrementAndGet();
+        } else if (statement.startsWith("update")) {
+            UPDATES.incrementAndGet();
+        } else if (statement.startsWith("delete")) {
+            DELETES.incrementAndGet();
+        }
+
+        return sql;
+    }
+
+    public static void reset() {
+        SELECTS.set(0);
+        INSERTS.set(0);
+        UPDATES.set(0);
+        DELETES.set(0);
+        LAST_SELECT.set(null);
+    }
+
+    public static String lastSelect() {
+        return LAST_SELECT.get();
+    }
+
+    public static void assertSelectCount(final int expected) {
+        assertThat(SELECTS.get()).as("select statements").isEqualTo(expected);
+    }
+
+    public static void assertInsertCount(final int expected) {
+        assertThat(INSERTS.get()).as("insert statements").isEqualTo(expected);
+    }
+
+    public static void assertUpdateCount(final int expected) {
+        assertThat(UPDATES.get()).as("update statements").isEqualTo(expected);
+    }
+
+    public static void assertDeleteCount(final int expected) {
+        assertThat(DELETES.get()).as("delete statements").isEqualTo(expected);
+    }
+}
@@ -0,0 +1,66 @@
+package com.zoola.tutorial.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BulkheadInterceptorTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final BulkheadInterceptor interceptor = new BulkheadInterceptor(
+            new BulkheadProperties(true, Duration.ofMillis(10), Map.of("Handlers.search", 1)),
+            meterRegistry);
+
+    private final HandlerMethod handler = Handlers.handler("search");
+
+    @Test
+    @DisplayName("Should reject requests with 503 once the endpoint is full")
+    public void shouldRejectRequestsOnceTheEndpointIsFull() throws Exception {
+        final MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request("/api/tutorials/search"), new MockHttpServletResponse(), handler)).isTrue();
+        assertThat(interceptor.preHandle(request("/api/tutorials/search"), rejected, handler)).isFalse();
+
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(meterRegistry.counter("tutorial.bulkhead.rejected", "endpoint", "Handlers.search").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should not limit endpoints without a bulkhead")
+    public void shouldNotLimitEndpointsWithoutABulkhead() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertThat(interceptor.preHandle(request("/api/tutorials/1"), new MockHttpServletResponse(), Handlers.handler("getById"))).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should release the permit when the request completes")
+    public void shouldReleaseThePermitWhenTheRequestCompletes() throws Exception {
+        final MockHttpServletRequest request = request("/api/tutorials/search");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, null);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertThat(interceptor.availablePermits("Handlers.search")).isEqualTo(1);
+        assertThat(meterRegistry.get("tutorial.bulkhead.available").tag("endpoint", "Handlers.search").gauge().value())
+                .isEqualTo(1.0);
+    }
+
+    private static MockHttpServletRequest request(final String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
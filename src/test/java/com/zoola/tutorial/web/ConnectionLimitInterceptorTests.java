@@ -0,0 +1,54 @@
+package com.zoola.tutorial.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConnectionLimitInterceptorTests {
+
+    private final ConnectionLimitInterceptor interceptor = new ConnectionLimitInterceptor(1, Duration.ofMillis(10));
+
+    private final HandlerMethod handler = handler();
+
+    @Test
+    @DisplayName("Should reject requests with 503 once every permit is taken")
+    public void shouldRejectRequestsOnceEveryPermitIsTaken() throws Exception {
+        final MockHttpServletRequest first = new MockHttpServletRequest();
+        final MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(first, new MockHttpServletResponse(), handler)).isTrue();
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), rejected, handler)).isFalse();
+
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Should release the permit when the request completes")
+    public void shouldReleaseThePermitWhenTheRequestCompletes() throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, null);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertThat(interceptor.availablePermits()).isEqualTo(1);
+    }
+
+    private static HandlerMethod handler() {
+        try {
+            return new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.zoola.tutorial.web;
+
+import org.springframework.web.method.HandlerMethod;
+
+// Stand-in controller, endpoints are keyed by its simple name and the handler method
+public class Handlers {
+
+    public void deleteAll() {
+    }
+
+    public void list() {
+    }
+
+    public void findByTitle() {
+    }
+
+    public void search() {
+    }
+
+    public void getById() {
+    }
+
+    static HandlerMethod handler(final String method) {
+        try {
+            return new HandlerMethod(new Handlers(), Handlers.class.getMethod(method));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
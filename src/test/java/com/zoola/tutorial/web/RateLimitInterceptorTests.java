@@ -0,0 +1,67 @@
+package com.zoola.tutorial.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitInterceptorTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RateLimitInterceptor interceptor = new RateLimitInterceptor(
+            new RateLimitProperties(true, 1000, 100, 1000, Duration.ofMinutes(1),
+                    Map.of("Handlers.deleteAll", new RateLimitProperties.Limit(0.01, 1))),
+            meterRegistry);
+
+    private final HandlerMethod deleteAll = Handlers.handler("deleteAll");
+    private final HandlerMethod list = Handlers.handler("list");
+    private final HandlerMethod findByTitle = Handlers.handler("findByTitle");
+
+    @Test
+    @DisplayName("Should reject a client with 429 once its bucket for the endpoint is empty")
+    public void shouldRejectAClientOnceItsBucketIsEmpty() {
+        final MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request("DELETE", "10.0.0.1"), new MockHttpServletResponse(), deleteAll)).isTrue();
+        assertThat(interceptor.preHandle(request("DELETE", "10.0.0.1"), rejected, deleteAll)).isFalse();
+
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(Long.parseLong(rejected.getHeader(HttpHeaders.RETRY_AFTER))).isGreaterThan(1L);
+        assertThat(meterRegistry.counter("tutorial.rate_limit.rejected", "endpoint", "Handlers.deleteAll").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per client and per endpoint")
+    public void shouldKeepSeparateBucketsPerClientAndPerEndpoint() {
+        interceptor.preHandle(request("DELETE", "10.0.0.1"), new MockHttpServletResponse(), deleteAll);
+
+        assertThat(interceptor.preHandle(request("DELETE", "10.0.0.2"), new MockHttpServletResponse(), deleteAll)).isTrue();
+        assertThat(interceptor.preHandle(request("GET", "10.0.0.1"), new MockHttpServletResponse(), list)).isTrue();
+        assertThat(interceptor.trackedBuckets()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets for handlers mapped to the same path")
+    public void shouldKeepSeparateBucketsForHandlersMappedToTheSamePath() {
+        interceptor.preHandle(request("GET", "10.0.0.1"), new MockHttpServletResponse(), list);
+        interceptor.preHandle(request("GET", "10.0.0.1"), new MockHttpServletResponse(), findByTitle);
+
+        assertThat(interceptor.trackedBuckets()).isEqualTo(2);
+    }
+
+    private static MockHttpServletRequest request(final String method, final String client) {
+        final MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/tutorials");
+        request.setRemoteAddr(client);
+        return request;
+    }
+}